@@ -2,6 +2,7 @@ package com.sap.cloudfoundry.client.facade;
 
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -30,6 +31,7 @@ import com.sap.cloudfoundry.client.facade.domain.DockerInfo;
 import com.sap.cloudfoundry.client.facade.domain.DropletInfo;
 import com.sap.cloudfoundry.client.facade.domain.InstancesInfo;
 import com.sap.cloudfoundry.client.facade.domain.ServicePlanVisibility;
+import com.sap.cloudfoundry.client.facade.domain.SpaceSnapshot;
 import com.sap.cloudfoundry.client.facade.domain.Staging;
 import com.sap.cloudfoundry.client.facade.domain.Upload;
 import com.sap.cloudfoundry.client.facade.domain.UserRole;
@@ -43,6 +45,18 @@ public interface CloudControllerClient {
 
     CloudSpace getTarget();
 
+    /**
+     * @return a non-blocking view of this client, sharing its connection, credentials and target space
+     */
+    ReactiveCloudControllerClient getReactiveClient();
+
+    /**
+     * @param target the space which the returned client targets, or null for one without a target
+     * @return a view of this client which targets another space, sharing its connections, credentials and caches with it. The view does
+     *         not own any of them, so they stay usable by this client when the view is discarded.
+     */
+    CloudControllerClient withTarget(CloudSpace target);
+
     /**
      * Add a private domain in the current organization.
      *
@@ -504,6 +518,15 @@ public interface CloudControllerClient {
      */
     List<CloudDomain> getSharedDomains();
 
+    /**
+     * Get all applications in the currently targeted space together with their web processes, routes and service bindings. Unlike
+     * requesting those for each application, the number of requests grows with the number of pages and not with the number of
+     * applications.
+     *
+     * @return the snapshot of the space
+     */
+    SpaceSnapshot getSpaceSnapshot();
+
     /**
      * Get a stack by name.
      *
@@ -664,8 +687,30 @@ public interface CloudControllerClient {
     CloudPackage asyncUploadApplicationWithExponentialBackoff(String applicationName, Path file, UploadStatusCallback callback,
                                                               Duration overrideTimeout);
 
+    /**
+     * Uploads an application archive. With resource matching, the entries of the archive are fingerprinted and only the files which the
+     * cloud controller does not already have in its resource cache are uploaded.
+     *
+     * @param applicationName the application name
+     * @param file the application archive
+     * @param callback reports the progress of the upload
+     * @param overrideTimeout the upload timeout
+     * @param matchResources whether to upload only the files unknown to the cloud controller
+     * @return the created package
+     */
+    CloudPackage asyncUploadApplicationWithExponentialBackoff(String applicationName, Path file, UploadStatusCallback callback,
+                                                              Duration overrideTimeout, boolean matchResources);
+
     Upload getUploadStatus(UUID packageGuid);
 
+    /**
+     * Gets the upload statuses of several packages with as few requests as possible.
+     *
+     * @param packageGuids the GUIDs of the packages
+     * @return the upload statuses by package GUID; packages which do not exist are missing from the result
+     */
+    Map<UUID, Upload> getUploadStatuses(Collection<UUID> packageGuids);
+
     CloudTask getTask(UUID taskGuid);
 
     /**
@@ -3,6 +3,7 @@ package com.sap.cloudfoundry.client.facade;
 import java.net.URL;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -12,7 +13,6 @@ import java.util.function.Supplier;
 
 import org.cloudfoundry.AbstractCloudFoundryException;
 import org.cloudfoundry.client.v3.Metadata;
-import org.springframework.http.HttpStatus;
 import org.springframework.util.Assert;
 
 import com.sap.cloudfoundry.client.facade.domain.CloudApplication;
@@ -35,13 +35,16 @@ import com.sap.cloudfoundry.client.facade.domain.DockerInfo;
 import com.sap.cloudfoundry.client.facade.domain.DropletInfo;
 import com.sap.cloudfoundry.client.facade.domain.InstancesInfo;
 import com.sap.cloudfoundry.client.facade.domain.ServicePlanVisibility;
+import com.sap.cloudfoundry.client.facade.domain.SpaceSnapshot;
 import com.sap.cloudfoundry.client.facade.domain.Staging;
 import com.sap.cloudfoundry.client.facade.domain.Upload;
 import com.sap.cloudfoundry.client.facade.domain.UserRole;
 import com.sap.cloudfoundry.client.facade.dto.ApplicationToCreateDto;
 import com.sap.cloudfoundry.client.facade.rest.CloudControllerRestClient;
 import com.sap.cloudfoundry.client.facade.rest.CloudControllerRestClientFactory;
+import com.sap.cloudfoundry.client.facade.rest.CloudControllerRestClientImpl;
 import com.sap.cloudfoundry.client.facade.rest.ImmutableCloudControllerRestClientFactory;
+import com.sap.cloudfoundry.client.facade.util.CloudUtil;
 
 /**
  * A Java client to exercise the Cloud Foundry API.
@@ -50,6 +53,7 @@ import com.sap.cloudfoundry.client.facade.rest.ImmutableCloudControllerRestClien
 public class CloudControllerClientImpl implements CloudControllerClient {
 
     private CloudControllerRestClient delegate;
+    private Runnable closeAction; // optional, set when the client created its own connections
 
     /**
      * Construct client without a default organization and space.
@@ -63,7 +67,12 @@ public class CloudControllerClientImpl implements CloudControllerClient {
         CloudControllerRestClientFactory restClientFactory = ImmutableCloudControllerRestClientFactory.builder()
                                                                                                       .shouldTrustSelfSignedCertificates(trustSelfSignedCerts)
                                                                                                       .build();
-        this.delegate = restClientFactory.createClient(controllerUrl, credentials, target);
+        CloudControllerRestClientImpl restClient = restClientFactory.createClient(controllerUrl, credentials, target);
+        this.delegate = restClient;
+        this.closeAction = () -> {
+            restClient.close();
+            restClientFactory.dispose();
+        };
     }
 
     /**
@@ -78,6 +87,28 @@ public class CloudControllerClientImpl implements CloudControllerClient {
         return delegate.getTarget();
     }
 
+    @Override
+    public ReactiveCloudControllerClient getReactiveClient() {
+        return delegate.getReactiveClient();
+    }
+
+    @Override
+    public CloudControllerClient withTarget(CloudSpace target) {
+        return new CloudControllerClientImpl(delegate.withTarget(target));
+    }
+
+    /**
+     * Releases the connections and the OAuth client which were created by
+     * {@link #CloudControllerClientImpl(URL, CloudCredentials, CloudSpace, boolean)}, after which the client must not be used anymore.
+     * Does nothing for clients which were constructed with a pre-configured delegate, as the delegate is owned by the caller, and for the
+     * views returned by {@link #withTarget(CloudSpace)}, as they share the resources of this client.
+     */
+    public void close() {
+        if (closeAction != null) {
+            closeAction.run();
+        }
+    }
+
     @Override
     public void addDomain(String domainName) {
         handleExceptions(() -> delegate.addDomain(domainName));
@@ -424,6 +455,11 @@ public class CloudControllerClientImpl implements CloudControllerClient {
         return handleExceptions(() -> delegate.getSharedDomains());
     }
 
+    @Override
+    public SpaceSnapshot getSpaceSnapshot() {
+        return handleExceptions(() -> delegate.getSpaceSnapshot());
+    }
+
     @Override
     public CloudStack getStack(String name) {
         return handleExceptions(() -> delegate.getStack(name));
@@ -566,11 +602,22 @@ public class CloudControllerClientImpl implements CloudControllerClient {
         return handleExceptions(() -> delegate.asyncUploadApplication(applicationName, file, callback, overrideTimeout));
     }
 
+    @Override
+    public CloudPackage asyncUploadApplicationWithExponentialBackoff(String applicationName, Path file, UploadStatusCallback callback,
+                                                                     Duration overrideTimeout, boolean matchResources) {
+        return handleExceptions(() -> delegate.asyncUploadApplication(applicationName, file, callback, overrideTimeout, matchResources));
+    }
+
     @Override
     public Upload getUploadStatus(UUID packageGuid) {
         return handleExceptions(() -> delegate.getUploadStatus(packageGuid));
     }
 
+    @Override
+    public Map<UUID, Upload> getUploadStatuses(Collection<UUID> packageGuids) {
+        return handleExceptions(() -> delegate.getUploadStatuses(packageGuids));
+    }
+
     @Override
     public CloudBuild createBuild(UUID packageGuid) {
         return handleExceptions(() -> delegate.createBuild(packageGuid));
@@ -657,13 +704,8 @@ public class CloudControllerClientImpl implements CloudControllerClient {
         try {
             return runnable.get();
         } catch (AbstractCloudFoundryException e) {
-            throw convertV3ClientException(e);
+            throw CloudUtil.convertV3ClientException(e);
         }
     }
 
-    private CloudOperationException convertV3ClientException(AbstractCloudFoundryException e) {
-        HttpStatus httpStatus = HttpStatus.valueOf(e.getStatusCode());
-        return new CloudOperationException(httpStatus, httpStatus.getReasonPhrase(), e.getMessage(), e);
-    }
-
 }
@@ -15,6 +15,12 @@ public final class Messages {
     // WARN messages
     public static final String RETRYING_OPERATION = "Retrying operation that failed with: {0}";
     public static final String CALL_TO_0_FAILED_WITH_1 = "Calling {0} failed with: {1}";
+    public static final String UPLOAD_STATUS_CALLBACK_FOR_PACKAGE_0_FAILED_WITH_1 = "Upload status callback for package {0} failed with: {1}";
+    public static final String CHECKING_STATUS_OF_UPLOADS_0_FAILED_WITH_1 = "Checking the status of uploads {0} failed with: {1}";
+    public static final String REFRESH_TOKEN_GRANT_FAILED_WITH_0 = "Refresh token grant failed, authenticating with password instead: {0}";
+    public static final String PROACTIVE_TOKEN_REFRESH_FAILED_WITH_0 = "Proactive token refresh failed with: {0}";
+    public static final String IGNORING_FINGERPRINT_INDEX_0_BECAUSE_1 = "Ignoring fingerprint index {0} because: {1}";
+    public static final String COULD_NOT_SAVE_FINGERPRINT_INDEX_0_BECAUSE_1 = "Could not save fingerprint index {0} because: {1}";
 
     // ERROR messages
     public static final String UNKNOWN_PACKAGE_TYPE = "Unknown package type: %s";
@@ -23,7 +29,11 @@ public final class Messages {
     public static final String SERVICE_PLAN_WITH_GUID_0_NOT_AVAILABLE_FOR_SERVICE_INSTANCE_1 = "Service plan with guid \"{0}\" is not available for service instance \"{1}\".";
     public static final String SERVICE_OFFERING_WITH_GUID_0_IS_NOT_AVAILABLE = "Service offering with guid \"{0}\" is not available.";
     public static final String SERVICE_OFFERING_WITH_GUID_0_NOT_FOUND = "Service offering with guid \"{0}\" not found.";
+    public static final String PACKAGE_WITH_GUID_0_NOT_FOUND = "Package with guid \"{0}\" not found.";
+    public static final String UNSUPPORTED_FINGERPRINT_INDEX_FORMAT = "Unsupported fingerprint index format";
     public static final String FAILED_TO_FETCH_APP_LOGS_FOR_APP = "Failed to fetch app logs for app: %s";
+    public static final String NO_OAUTH_TOKEN_AVAILABLE = "No OAuth token is available, the client is not logged in";
+    public static final String CONTROLLER_0_DOES_NOT_ADVERTISE_A_LOGIN_ENDPOINT = "Controller {0} does not advertise a login endpoint";
 
     public static final String BUILDPACKS_ARE_REQUIRED_FOR_CNB_LIFECYCLE_TYPE = "Buildpacks are required for CNB lifecycle type.";
 
@@ -0,0 +1,144 @@
+package com.sap.cloudfoundry.client.facade;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+import com.sap.cloudfoundry.client.facade.domain.CloudApplication;
+import com.sap.cloudfoundry.client.facade.domain.CloudBuild;
+import com.sap.cloudfoundry.client.facade.domain.CloudDomain;
+import com.sap.cloudfoundry.client.facade.domain.CloudEvent;
+import com.sap.cloudfoundry.client.facade.domain.CloudPackage;
+import com.sap.cloudfoundry.client.facade.domain.CloudProcess;
+import com.sap.cloudfoundry.client.facade.domain.CloudRoute;
+import com.sap.cloudfoundry.client.facade.domain.CloudServiceBinding;
+import com.sap.cloudfoundry.client.facade.domain.CloudServiceBroker;
+import com.sap.cloudfoundry.client.facade.domain.CloudServiceInstance;
+import com.sap.cloudfoundry.client.facade.domain.CloudServiceKey;
+import com.sap.cloudfoundry.client.facade.domain.CloudServiceOffering;
+import com.sap.cloudfoundry.client.facade.domain.CloudSpace;
+import com.sap.cloudfoundry.client.facade.domain.CloudStack;
+import com.sap.cloudfoundry.client.facade.domain.CloudTask;
+import com.sap.cloudfoundry.client.facade.domain.InstancesInfo;
+import com.sap.cloudfoundry.client.facade.domain.SpaceSnapshot;
+import com.sap.cloudfoundry.client.facade.domain.Upload;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link CloudControllerClient}. Nothing is sent to the cloud controller until the returned publishers are
+ * subscribed to. Errors reported by the cloud controller are signalled as {@link CloudOperationException}. It covers the read operations
+ * and the simple writes; the operations of {@link CloudControllerClient} with the same name block on it, while operations which poll jobs
+ * or chain several writes are only available as blocking ones.
+ */
+public interface ReactiveCloudControllerClient {
+
+    CloudSpace getTarget();
+
+    /**
+     * @param applicationName the application name
+     * @return the application, or a {@link CloudOperationException} with status 404 if it does not exist
+     */
+    Mono<CloudApplication> getApplication(String applicationName);
+
+    /**
+     * @param applicationName the application name
+     * @param required whether a {@link CloudOperationException} should be signalled if the application does not exist
+     * @return the application, or an empty {@link Mono} if it does not exist and is not required
+     */
+    Mono<CloudApplication> getApplication(String applicationName, boolean required);
+
+    Mono<UUID> getApplicationGuid(String applicationName);
+
+    Mono<String> getApplicationName(UUID applicationGuid);
+
+    Flux<CloudApplication> getApplications();
+
+    Flux<CloudApplication> getApplicationsByMetadataLabelSelector(String labelSelector);
+
+    Mono<Map<String, String>> getApplicationEnvironment(UUID applicationGuid);
+
+    Flux<CloudEvent> getApplicationEvents(String applicationName);
+
+    Mono<InstancesInfo> getApplicationInstances(UUID applicationGuid);
+
+    Mono<CloudProcess> getApplicationProcess(UUID applicationGuid);
+
+    Flux<CloudRoute> getApplicationRoutes(UUID applicationGuid);
+
+    Mono<Boolean> getApplicationSshEnabled(UUID applicationGuid);
+
+    Mono<CloudDomain> getDefaultDomain();
+
+    Flux<CloudDomain> getDomains();
+
+    Flux<CloudDomain> getPrivateDomains();
+
+    Flux<CloudDomain> getSharedDomains();
+
+    Mono<SpaceSnapshot> getSpaceSnapshot();
+
+    Flux<CloudEvent> getEvents();
+
+    Flux<CloudEvent> getEventsByTarget(UUID uuid);
+
+    Mono<UUID> getRequiredServiceInstanceGuid(String name);
+
+    Mono<CloudServiceInstance> getServiceInstance(String serviceInstanceName);
+
+    Mono<CloudServiceInstance> getServiceInstance(String serviceInstanceName, boolean required);
+
+    Mono<CloudServiceInstance> getServiceInstanceWithoutAuxiliaryContent(String serviceInstanceName);
+
+    Mono<CloudServiceInstance> getServiceInstanceWithoutAuxiliaryContent(String serviceInstanceName, boolean required);
+
+    Flux<CloudServiceInstance> getServiceInstancesByMetadataLabelSelector(String labelSelector);
+
+    Flux<CloudServiceInstance> getServiceInstancesWithoutAuxiliaryContentByMetadataLabelSelector(String labelSelector);
+
+    Mono<CloudServiceBinding> getServiceBinding(UUID serviceBindingGuid);
+
+    Flux<CloudServiceBinding> getServiceAppBindings(UUID serviceInstanceGuid);
+
+    Flux<CloudServiceBinding> getAppBindings(UUID applicationGuid);
+
+    Mono<CloudServiceBinding> getServiceBindingForApplication(UUID applicationGuid, UUID serviceInstanceGuid);
+
+    Flux<CloudServiceBroker> getServiceBrokers();
+
+    Flux<CloudServiceKey> getServiceKeys(CloudServiceInstance serviceInstance);
+
+    Flux<CloudServiceKey> getServiceKeysWithCredentials(CloudServiceInstance serviceInstance);
+
+    Flux<CloudServiceOffering> getServiceOfferings();
+
+    Flux<CloudStack> getStacks();
+
+    Mono<CloudTask> getTask(UUID taskGuid);
+
+    Mono<CloudBuild> getBuild(UUID buildGuid);
+
+    Flux<CloudBuild> getBuildsForApplication(UUID applicationGuid);
+
+    Flux<CloudBuild> getBuildsForPackage(UUID packageGuid);
+
+    Mono<CloudPackage> getPackage(UUID packageGuid);
+
+    Flux<CloudPackage> getPackagesForApplication(UUID applicationGuid);
+
+    Mono<Upload> getUploadStatus(UUID packageGuid);
+
+    /**
+     * @param packageGuids the GUIDs of the packages
+     * @return the upload statuses by package GUID; packages which do not exist are missing from the result
+     */
+    Mono<Map<UUID, Upload>> getUploadStatuses(Collection<UUID> packageGuids);
+
+    Mono<Void> startApplication(String applicationName);
+
+    Mono<Void> stopApplication(String applicationName);
+
+    Mono<Void> updateApplicationEnv(UUID applicationGuid, Map<String, String> env);
+
+}
@@ -2,6 +2,8 @@ package com.sap.cloudfoundry.client.facade;
 
 import java.util.Set;
 
+import com.sap.cloudfoundry.client.facade.domain.FileDigests;
+
 /**
  * Reports status information when uploading an application.
  */
@@ -41,7 +43,7 @@ public interface UploadStatusCallback {
     /**
      * Called after the files to be uploaded have been identified.
      *
-     * @param matchedFileNames the files to be uploaded
+     * @param matchedFileNames the files which the cloud controller already has and which are therefore not uploaded
      */
     void onMatchedFileNames(Set<String> matchedFileNames);
 
@@ -65,4 +67,22 @@ public interface UploadStatusCallback {
     boolean onProgress(String status);
 
     void onError(String description);
+
+    /**
+     * Called while the application bits are being streamed to the controller. Only reported for streaming uploads.
+     *
+     * @param uploadedBytes the number of bytes sent so far
+     * @param totalBytes the size of the application archive
+     */
+    default void onBytesUploaded(long uploadedBytes, long totalBytes) {
+    }
+
+    /**
+     * Called after the application bits have been streamed to the controller. Only reported for streaming uploads.
+     *
+     * @param digests the digests of the uploaded bits, computed while they were being sent. When resources are matched, these are the bits
+     *        of the files which the controller did not have, not the whole application archive.
+     */
+    default void onBitsUploaded(FileDigests digests) {
+    }
 }
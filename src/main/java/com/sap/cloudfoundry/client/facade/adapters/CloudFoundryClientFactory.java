@@ -1,23 +1,20 @@
 package com.sap.cloudfoundry.client.facade.adapters;
 
-import java.io.IOException;
-import java.net.URISyntaxException;
 import java.net.URL;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.text.MessageFormat;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.cloudfoundry.client.CloudFoundryClient;
 import org.cloudfoundry.client.v3.organizations.OrganizationsV3;
 import org.cloudfoundry.client.v3.spaces.SpacesV3;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.DefaultConnectionContext;
+import org.cloudfoundry.reactor.ProxyConfiguration;
 import org.cloudfoundry.reactor.client.ReactorCloudFoundryClient;
 import org.cloudfoundry.reactor.client.v3.organizations.ReactorOrganizationsV3;
 import org.cloudfoundry.reactor.client.v3.spaces.ReactorSpacesV3;
@@ -32,22 +29,34 @@ import com.sap.cloudfoundry.client.facade.Messages;
 import com.sap.cloudfoundry.client.facade.oauth2.OAuthClient;
 import com.sap.cloudfoundry.client.facade.rest.CloudSpaceClient;
 import com.sap.cloudfoundry.client.facade.util.CloudUtil;
+import com.sap.cloudfoundry.client.facade.util.ControllerDiscoveryCache;
 import com.sap.cloudfoundry.client.facade.util.JsonUtil;
 
+import io.netty.channel.ChannelOption;
+import io.netty.handler.logging.LogLevel;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.ByteBufMono;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+import reactor.netty.tcp.SslProvider;
 
 @Value.Immutable
 public abstract class CloudFoundryClientFactory {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CloudFoundryClientFactory.class);
-
-    static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
-                                                    .executor(Executors.newSingleThreadExecutor())
-                                                    .followRedirects(HttpClient.Redirect.NORMAL)
-                                                    .connectTimeout(Duration.ofMinutes(10))
-                                                    .build();
+    private static final int UNBOUNDED_PENDING_ACQUIRE_COUNT = -1;
+    private static final Duration CF_ROOT_TIMEOUT = Duration.ofMinutes(1);
+    private static final int SEND_RECEIVE_BUFFER_SIZE = 10 * 1024 * 1024;
 
     private final Map<String, ConnectionContext> connectionContextCache = new ConcurrentHashMap<>();
+    private final Queue<Disposable> httpClientResources = new ConcurrentLinkedQueue<>();
 
     public abstract Optional<Duration> getSslHandshakeTimeout();
 
@@ -59,6 +68,34 @@ public abstract class CloudFoundryClientFactory {
 
     public abstract Optional<Duration> getResponseTimeout();
 
+    /**
+     * Negotiates HTTP/2 with the controller, falling back to HTTP/1.1, so that concurrent requests are multiplexed over few connections.
+     */
+    @Value.Default
+    public boolean shouldUseHttp2() {
+        return false;
+    }
+
+    public abstract Optional<Duration> getConnectionMaxIdleTime();
+
+    public abstract Optional<Duration> getConnectionMaxLifeTime();
+
+    /**
+     * Limits the number of requests waiting for a pooled connection. Waiting requests are not limited when not set.
+     */
+    public abstract Optional<Integer> getPendingAcquireMaxCount();
+
+    public abstract Optional<Duration> getPendingAcquireTimeout();
+
+    /**
+     * Evicts idle and expired connections from the pool in the background at this interval, instead of only when they are acquired.
+     */
+    public abstract Optional<Duration> getConnectionEvictionInterval();
+
+    public abstract Optional<Boolean> getKeepAlive();
+
+    public abstract Optional<ProxyConfiguration> getProxyConfiguration();
+
     public CloudFoundryClient createClient(URL controllerUrl, OAuthClient oAuthClient, Map<String, String> requestTags) {
         return ReactorCloudFoundryClient.builder()
                                         .connectionContext(getOrCreateConnectionContext(controllerUrl.getHost()))
@@ -68,51 +105,95 @@ public abstract class CloudFoundryClientFactory {
     }
 
     public LogCacheClient createLogCacheClient(URL controllerUrl, OAuthClient oAuthClient, Map<String, String> requestTags) {
-        return new LogCacheClient(oAuthClient, requestTags, getOrCreateConnectionContext(controllerUrl.getHost()));
+        ConnectionContext connectionContext = getOrCreateConnectionContext(controllerUrl.getHost());
+        return new LogCacheClient(oAuthClient, requestTags, connectionContext,
+                                  getLogCacheRoot(controllerUrl, requestTags, connectionContext));
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> callCfRoot(URL controllerUrl, Map<String, String> requestTags) {
-        HttpResponse<String> response;
-        try {
-            HttpRequest request = buildCfRootRequest(controllerUrl, requestTags);
-            LOGGER.info(MessageFormat.format(Messages.CALLING_CF_ROOT_0_TO_ACCESS_LOG_CACHE_URL, controllerUrl));
-            response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() / 100 != 2) {
-                var status = HttpStatus.valueOf(response.statusCode());
-                throw new CloudOperationException(status, status.getReasonPhrase(), response.body());
+    /**
+     * Takes the log-cache endpoint from the cached root document of the controller. If the controller does not advertise one, finding it
+     * is left to the connection context.
+     */
+    private Mono<String> getLogCacheRoot(URL controllerUrl, Map<String, String> requestTags, ConnectionContext connectionContext) {
+        Mono<String> advertisedRoot = Mono.defer(() -> {
+            String logCacheUrl = ControllerDiscoveryCache.shared()
+                                                         .getCachedHref(controllerUrl, ControllerDiscoveryCache.LOG_CACHE);
+            if (logCacheUrl != null) {
+                return Mono.just(logCacheUrl);
             }
-            LOGGER.info(Messages.CF_ROOT_REQUEST_FINISHED);
-        } catch (InterruptedException | URISyntaxException | IOException e) {
+            return Mono.fromCallable(() -> ControllerDiscoveryCache.getHref(getRootLinks(controllerUrl, requestTags),
+                                                                            ControllerDiscoveryCache.LOG_CACHE))
+                       .subscribeOn(Schedulers.boundedElastic());
+        });
+        return advertisedRoot.onErrorResume(CloudException.class, e -> Mono.empty())
+                             .switchIfEmpty(Mono.defer(() -> connectionContext.getRootProvider()
+                                                                              .getRoot(ControllerDiscoveryCache.LOG_CACHE, connectionContext)));
+    }
+
+    private Map<String, Object> getRootLinks(URL controllerUrl, Map<String, String> requestTags) {
+        return ControllerDiscoveryCache.shared()
+                                       .getLinks(controllerUrl, () -> CloudUtil.executeWithRetry(() -> callCfRoot(controllerUrl, requestTags)));
+    }
+
+    /**
+     * Fetches the root document of the controller through the pooled HTTP client of the controller host, so concurrent calls neither
+     * queue behind each other nor keep threads of their own.
+     */
+    Map<String, Object> callCfRoot(URL controllerUrl, Map<String, String> requestTags) {
+        LOGGER.info(MessageFormat.format(Messages.CALLING_CF_ROOT_0_TO_ACCESS_LOG_CACHE_URL, controllerUrl));
+        String body;
+        try {
+            body = getOrCreateConnectionContext(controllerUrl.getHost()).getHttpClient()
+                                                                        .followRedirect(true)
+                                                                        .responseTimeout(CF_ROOT_TIMEOUT)
+                                                                        .headers(headers -> requestTags.forEach(headers::set))
+                                                                        .get()
+                                                                        .uri(controllerUrl.toString())
+                                                                        .responseSingle(this::readCfRootResponse)
+                                                                        .block(CF_ROOT_TIMEOUT);
+        } catch (CloudException e) {
+            throw e;
+        } catch (RuntimeException e) {
             throw new CloudException(e.getMessage(), e);
         }
-        var map = JsonUtil.convertJsonToMap(response.body());
-        return (Map<String, Object>) map.get("links");
+        LOGGER.info(Messages.CF_ROOT_REQUEST_FINISHED);
+        return ControllerDiscoveryCache.extractLinks(JsonUtil.convertJsonToMap(body));
     }
 
-    private HttpRequest buildCfRootRequest(URL controllerUrl, Map<String, String> requestTags) throws URISyntaxException {
-        var requestBuilder = HttpRequest.newBuilder()
-                                        .GET()
-                                        .uri(controllerUrl.toURI())
-                                        .timeout(Duration.ofMinutes(5));
-        requestTags.forEach(requestBuilder::header);
-        return requestBuilder.build();
+    private Mono<String> readCfRootResponse(HttpClientResponse response, ByteBufMono content) {
+        HttpStatus status = HttpStatus.valueOf(response.status()
+                                                       .code());
+        Mono<String> body = content.asString()
+                                   .defaultIfEmpty("");
+        if (status.is2xxSuccessful()) {
+            return body;
+        }
+        return body.flatMap(description -> Mono.error(new CloudOperationException(status, status.getReasonPhrase(), description)));
     }
 
     public CloudSpaceClient createSpaceClient(URL controllerUrl, OAuthClient oAuthClient, Map<String, String> requestTags) {
-        String v3Api;
+        String v3Api = null;
         try {
-            var links = CloudUtil.executeWithRetry(() -> callCfRoot(controllerUrl, requestTags));
-            @SuppressWarnings("unchecked")
-            var ccv3 = (Map<String, Object>) links.get("cloud_controller_v3");
-            v3Api = (String) ccv3.get("href");
+            var links = getRootLinks(controllerUrl, requestTags);
+            v3Api = ControllerDiscoveryCache.getHref(links, ControllerDiscoveryCache.CLOUD_CONTROLLER_V3);
         } catch (CloudException e) {
             LOGGER.warn(MessageFormat.format(Messages.CALL_TO_0_FAILED_WITH_1, controllerUrl.toString(), e.getMessage()), e);
+        }
+        if (v3Api == null) {
             v3Api = controllerUrl + "/v3";
         }
         var spacesV3 = createV3SpacesClient(controllerUrl, v3Api, oAuthClient, requestTags);
         var orgsV3 = createV3OrgsClient(controllerUrl, v3Api, oAuthClient, requestTags);
-        return new CloudSpaceClient(spacesV3, orgsV3);
+        var spacesWithOrgsV3 = createV3SpacesWithOrganizationClient(controllerUrl, v3Api, oAuthClient, requestTags);
+        return new CloudSpaceClient(spacesV3, orgsV3, spacesWithOrgsV3);
+    }
+
+    private ReactorSpacesWithOrganizationV3 createV3SpacesWithOrganizationClient(URL controllerUrl, String v3Api, OAuthClient oAuthClient,
+                                                                                 Map<String, String> requestTags) {
+        return new ReactorSpacesWithOrganizationV3(getOrCreateConnectionContext(controllerUrl.getHost()),
+                                                   Mono.just(v3Api),
+                                                   oAuthClient.getTokenProvider(),
+                                                   requestTags);
     }
 
     private SpacesV3 createV3SpacesClient(URL controllerUrl, String v3Api, OAuthClient oAuthClient, Map<String, String> requestTags) {
@@ -140,11 +221,98 @@ public abstract class CloudFoundryClientFactory {
         getConnectTimeout().ifPresent(builder::connectTimeout);
         getConnectionPoolSize().ifPresent(builder::connectionPoolSize);
         getThreadPoolSize().ifPresent(builder::threadPoolSize);
+        getKeepAlive().ifPresent(builder::keepAlive);
+        getProxyConfiguration().ifPresent(builder::proxyConfiguration);
         builder.additionalHttpClientConfiguration(this::getAdditionalHttpClientConfiguration);
+        if (shouldConfigureConnectionPool()) {
+            builder.httpClient(createHttpClient(controllerApiHost));
+        }
         return builder.build();
     }
 
-    private reactor.netty.http.client.HttpClient getAdditionalHttpClientConfiguration(reactor.netty.http.client.HttpClient client) {
+    private boolean shouldConfigureConnectionPool() {
+        return shouldUseHttp2() || getConnectionMaxIdleTime().isPresent() || getConnectionMaxLifeTime().isPresent()
+            || getPendingAcquireMaxCount().isPresent() || getPendingAcquireTimeout().isPresent()
+            || getConnectionEvictionInterval().isPresent();
+    }
+
+    /**
+     * The connection context does not allow its connection provider to be configured, so the HTTP client is created here with the same
+     * settings the connection context would have applied. Its event loops and connection pool are owned by this factory and released by
+     * {@link #dispose()}.
+     */
+    private HttpClient createHttpClient(String controllerApiHost) {
+        var client = HttpClient.create(createConnectionProvider(controllerApiHost))
+                               .compress(true)
+                               .secure(this::configureSsl);
+        if (shouldUseHttp2()) {
+            client = client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        if (getProxyConfiguration().isPresent()) {
+            client = getProxyConfiguration().get()
+                                            .configure(client);
+        }
+        client = client.runOn(createLoopResources())
+                       .option(ChannelOption.SO_SNDBUF, SEND_RECEIVE_BUFFER_SIZE)
+                       .option(ChannelOption.SO_RCVBUF, SEND_RECEIVE_BUFFER_SIZE)
+                       .wiretap("cloudfoundry-client.wire", LogLevel.TRACE);
+        if (getKeepAlive().isPresent()) {
+            client = client.keepAlive(getKeepAlive().get());
+        }
+        if (getConnectTimeout().isPresent()) {
+            client = client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) getConnectTimeout().get()
+                                                                                               .toMillis());
+        }
+        return getAdditionalHttpClientConfiguration(client);
+    }
+
+    private LoopResources createLoopResources() {
+        int threadPoolSize = getThreadPoolSize().orElse(Runtime.getRuntime()
+                                                               .availableProcessors());
+        LoopResources loopResources = LoopResources.create("cloudfoundry-client", threadPoolSize, true);
+        httpClientResources.add(loopResources);
+        return loopResources;
+    }
+
+    private ConnectionProvider createConnectionProvider(String controllerApiHost) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("cloudfoundry-client-" + controllerApiHost);
+        builder.pendingAcquireMaxCount(getPendingAcquireMaxCount().orElse(UNBOUNDED_PENDING_ACQUIRE_COUNT));
+        getConnectionPoolSize().ifPresent(builder::maxConnections);
+        getConnectionMaxIdleTime().ifPresent(builder::maxIdleTime);
+        getConnectionMaxLifeTime().ifPresent(builder::maxLifeTime);
+        getPendingAcquireTimeout().ifPresent(builder::pendingAcquireTimeout);
+        getConnectionEvictionInterval().ifPresent(builder::evictInBackground);
+        ConnectionProvider connectionProvider = builder.build();
+        httpClientResources.add(connectionProvider);
+        return connectionProvider;
+    }
+
+    /**
+     * Closes the connections and stops the event loops of all clients created by this factory, which must not be used afterwards.
+     */
+    public void dispose() {
+        connectionContextCache.values()
+                              .forEach(CloudFoundryClientFactory::dispose);
+        connectionContextCache.clear();
+        Disposable resource;
+        while ((resource = httpClientResources.poll()) != null) {
+            resource.dispose();
+        }
+    }
+
+    private static void dispose(ConnectionContext connectionContext) {
+        if (connectionContext instanceof DefaultConnectionContext defaultConnectionContext) {
+            defaultConnectionContext.dispose();
+        }
+    }
+
+    private void configureSsl(SslProvider.SslContextSpec sslContextSpec) {
+        SslProvider.Builder sslProviderBuilder = sslContextSpec.sslContext(shouldUseHttp2() ? Http2SslContextSpec.forClient()
+            : Http11SslContextSpec.forClient());
+        getSslHandshakeTimeout().ifPresent(sslProviderBuilder::handshakeTimeout);
+    }
+
+    private HttpClient getAdditionalHttpClientConfiguration(HttpClient client) {
         var clientWithOptions = client;
         if (getResponseTimeout().isPresent()) {
             clientWithOptions = clientWithOptions.responseTimeout(getResponseTimeout().get());
@@ -0,0 +1,58 @@
+package com.sap.cloudfoundry.client.facade.adapters;
+
+import com.sap.cloudfoundry.client.facade.domain.ApplicationLog;
+import com.sap.cloudfoundry.client.facade.domain.ImmutableApplicationLog;
+import org.cloudfoundry.logcache.v1.Envelope;
+import org.cloudfoundry.logcache.v1.Log;
+import org.cloudfoundry.logcache.v1.LogType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Maps log-cache envelopes to application logs. The base64 payloads are decoded into a buffer which is reused for all envelopes, instead of
+ * into a new array per payload. A decoder is therefore not thread safe and is meant to be used by a single sequence of envelopes.
+ */
+class EnvelopeDecoder {
+
+    private static final String SOURCE_TYPE_KEY_NAME = "source_type";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final Base64.Decoder BASE64_DECODER = Base64.getDecoder();
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+    ApplicationLog decode(Envelope envelope) {
+        Log log = envelope.getLog();
+        return ImmutableApplicationLog.builder()
+                                      .applicationGuid(envelope.getSourceId())
+                                      .message(decodePayload(log.getPayload()))
+                                      .timestamp(toTimestamp(envelope.getTimestamp()))
+                                      .messageType(log.getType() == LogType.OUT ? ApplicationLog.MessageType.STDOUT
+                                          : ApplicationLog.MessageType.STDERR)
+                                      .sourceName(envelope.getTags()
+                                                          .get(SOURCE_TYPE_KEY_NAME))
+                                      .build();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is not valid base64
+     */
+    String decodePayload(String base64Encoded) {
+        byte[] encoded = base64Encoded.getBytes(StandardCharsets.ISO_8859_1);
+        int maxLength = (encoded.length + 3) / 4 * 3;
+        if (buffer.length < maxLength) {
+            buffer = new byte[Math.max(maxLength, buffer.length * 2)];
+        }
+        int length = BASE64_DECODER.decode(encoded, buffer);
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    static LocalDateTime toTimestamp(long timestampNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(timestampNanos, NANOS_PER_SECOND),
+                                           (int) Math.floorMod(timestampNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+}
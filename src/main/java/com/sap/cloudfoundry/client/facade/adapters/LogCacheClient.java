@@ -1,10 +1,13 @@
 package com.sap.cloudfoundry.client.facade.adapters;
 
+import com.sap.cloudfoundry.client.facade.ApplicationLogListener;
 import com.sap.cloudfoundry.client.facade.CloudException;
 import com.sap.cloudfoundry.client.facade.Messages;
 import com.sap.cloudfoundry.client.facade.domain.ApplicationLog;
-import com.sap.cloudfoundry.client.facade.domain.ImmutableApplicationLog;
 import com.sap.cloudfoundry.client.facade.oauth2.OAuthClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.cloudfoundry.logcache.v1.Envelope;
 import org.cloudfoundry.logcache.v1.EnvelopeType;
 import org.cloudfoundry.logcache.v1.ReadRequest;
@@ -13,105 +16,317 @@ import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.logcache.v1.ReactorLogCacheClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
-import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.time.Duration;
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class LogCacheClient {
 
+    static final String READ_TIMER_NAME = "cf.client.log.cache.read";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(LogCacheClient.class);
-    private static final String SOURCE_TYPE_KEY_NAME = "source_type";
     private static final int MAX_LOG_COUNT = 1000;
-    private final OAuthClient oAuthClient;
-    private final Map<String, String> requestTags;
-    private final ConnectionContext connectionContext;
+    private static final Duration STREAMING_POLLING_INTERVAL = Duration.ofSeconds(1);
+    private static final int MAX_CONCURRENT_APPLICATION_READS = 8;
+    private static final int MAX_TIME_SLICES = 16;
+    private static final int MAX_CONCURRENT_TIME_SLICES = 4;
+    private static final Duration MIN_TIME_SLICE_DURATION = Duration.ofMinutes(1);
+    // The client resolves and caches the log-cache root on first use, so it is shared by all calls
+    private final org.cloudfoundry.logcache.v1.LogCacheClient logCacheClient;
+    private final MeterRegistry meterRegistry;
 
     public LogCacheClient(OAuthClient oAuthClient, Map<String, String> requestTags, ConnectionContext connectionContext) {
-        this.oAuthClient = oAuthClient;
-        this.requestTags = requestTags;
-        this.connectionContext = connectionContext;
+        this(createReactorLogCacheClient(oAuthClient, requestTags, connectionContext, null), Metrics.globalRegistry);
+    }
+
+    /**
+     * @param root the log-cache endpoint, which is otherwise looked up in the root document of the controller on first use
+     */
+    public LogCacheClient(OAuthClient oAuthClient, Map<String, String> requestTags, ConnectionContext connectionContext, Mono<String> root) {
+        this(createReactorLogCacheClient(oAuthClient, requestTags, connectionContext, root), Metrics.globalRegistry);
+    }
+
+    LogCacheClient(org.cloudfoundry.logcache.v1.LogCacheClient logCacheClient, MeterRegistry meterRegistry) {
+        this.logCacheClient = logCacheClient;
+        this.meterRegistry = meterRegistry;
     }
 
     public List<ApplicationLog> getRecentLogs(UUID applicationGuid, LocalDateTime offset) {
         LOGGER.info(Messages.TRYING_TO_GET_APP_LOGS);
-        org.cloudfoundry.logcache.v1.LogCacheClient logCacheClient = createReactorLogCacheClient();
-        ReadResponse applicationLogsResponse = readApplicationLogs(logCacheClient, applicationGuid, offset);
+        ReadResponse applicationLogsResponse = readApplicationLogs(applicationGuid, offset).block();
 
         if (applicationLogsResponse != null) {
             LOGGER.info(Messages.APP_LOGS_WERE_FETCHED_SUCCESSFULLY);
-            return applicationLogsResponse.getEnvelopes()
-                                          .getBatch()
-                                          .stream()
-                                          .map(this::mapToAppLog)
-                                          // we use a linked list so that the log messages can be a LIFO sequence
-                                          // that way, we avoid unnecessary sorting and copying to and from another collection/array
-                                          .collect(LinkedList::new, LinkedList::addFirst, LinkedList::addAll);
+            return toChronologicalLogs(applicationLogsResponse);
         } else {
             throw new CloudException(MessageFormat.format(Messages.FAILED_TO_FETCH_APP_LOGS_FOR_APP, applicationGuid));
         }
 
     }
 
-    private ReactorLogCacheClient createReactorLogCacheClient() {
-        return ReactorLogCacheClient.builder()
-                                    .requestTags(requestTags)
-                                    .connectionContext(connectionContext)
-                                    .tokenProvider(oAuthClient.getTokenProvider())
-                                    .build();
+    /**
+     * Reads the recent logs of several applications, a few of them in parallel, and merges them into a single list ordered by timestamp.
+     * The logs of every application are subject to the same limit as with {@link #getRecentLogs(UUID, LocalDateTime)}.
+     */
+    public List<ApplicationLog> getRecentLogs(Collection<UUID> applicationGuids, LocalDateTime offset) {
+        LOGGER.info(Messages.TRYING_TO_GET_APP_LOGS);
+        List<List<ApplicationLog>> logsPerApplication = Flux.fromIterable(applicationGuids)
+                                                            .flatMap(applicationGuid -> readApplicationLogs(applicationGuid, offset),
+                                                                     MAX_CONCURRENT_APPLICATION_READS)
+                                                            .map(this::toChronologicalLogs)
+                                                            .collectList()
+                                                            .block();
+        LOGGER.info(Messages.APP_LOGS_WERE_FETCHED_SUCCESSFULLY);
+        return mergeByTimestamp(logsPerApplication);
+    }
+
+    private List<ApplicationLog> toChronologicalLogs(ReadResponse applicationLogsResponse) {
+        return applicationLogsResponse.getEnvelopes()
+                                      .getBatch()
+                                      .stream()
+                                      .map(new EnvelopeDecoder()::decode)
+                                      // we use a linked list so that the log messages can be a LIFO sequence
+                                      // that way, we avoid unnecessary sorting and copying to and from another collection/array
+                                      .collect(LinkedList::new, LinkedList::addFirst, LinkedList::addAll);
+    }
+
+    /**
+     * K-way merge of lists which are already ordered by timestamp. Only the heads of the lists are kept in the queue, so merging takes
+     * O(n log k) for n logs from k applications.
+     */
+    static List<ApplicationLog> mergeByTimestamp(List<List<ApplicationLog>> orderedLogs) {
+        PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(Math.max(1, orderedLogs.size()),
+                                                                   Comparator.comparing(PeekingIterator::peek));
+        int size = 0;
+        for (List<ApplicationLog> logs : orderedLogs) {
+            size += logs.size();
+            if (!logs.isEmpty()) {
+                heads.add(new PeekingIterator(logs.iterator()));
+            }
+        }
+        List<ApplicationLog> mergedLogs = new ArrayList<>(size);
+        while (!heads.isEmpty()) {
+            PeekingIterator head = heads.poll();
+            mergedLogs.add(head.next());
+            if (head.hasNext()) {
+                heads.add(head);
+            }
+        }
+        return mergedLogs;
+    }
+
+    private static ReactorLogCacheClient createReactorLogCacheClient(OAuthClient oAuthClient, Map<String, String> requestTags,
+                                                                     ConnectionContext connectionContext, Mono<String> root) {
+        ReactorLogCacheClient.Builder builder = ReactorLogCacheClient.builder()
+                                                                     .requestTags(requestTags)
+                                                                     .connectionContext(connectionContext)
+                                                                     .tokenProvider(oAuthClient.getTokenProvider());
+        if (root != null) {
+            builder.root(root);
+        }
+        return builder.build();
     }
 
-    private ReadResponse readApplicationLogs(org.cloudfoundry.logcache.v1.LogCacheClient logCacheClient, UUID applicationGuid,
-                                             LocalDateTime offset) {
+    private Mono<ReadResponse> readApplicationLogs(UUID applicationGuid, LocalDateTime offset) {
         var instant = offset.toInstant(ZoneOffset.UTC);
         var secondsInNanos = Duration.ofSeconds(instant.getEpochSecond())
                                      .toNanos();
-        return logCacheClient.read(ReadRequest.builder()
-                                              .envelopeType(EnvelopeType.LOG)
-                                              .sourceId(applicationGuid.toString())
-                                              .descending(Boolean.TRUE)
-                                              .limit(MAX_LOG_COUNT)
-                                              .startTime(secondsInNanos + instant.getNano() + 1)
-                                              .build())
-                             .block();
+        return read(ReadRequest.builder()
+                               .envelopeType(EnvelopeType.LOG)
+                               .sourceId(applicationGuid.toString())
+                               .descending(Boolean.TRUE)
+                               .limit(MAX_LOG_COUNT)
+                               .startTime(secondsInNanos + instant.getNano() + 1)
+                               .build());
+    }
+
+    private Mono<ReadResponse> read(ReadRequest request) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return logCacheClient.read(request)
+                                 .doOnSuccess(response -> sample.stop(getReadTimer("success")))
+                                 .doOnError(e -> sample.stop(getReadTimer("error")));
+        });
+    }
+
+    private Timer getReadTimer(String outcome) {
+        return Timer.builder(READ_TIMER_NAME)
+                    .description("Latency of reading application logs from log-cache")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+    }
+
+    /**
+     * Tails the logs of an application, starting from now. Log-cache is polled for the envelopes after the latest one delivered so far and
+     * the next poll only starts once the listener has received the previous batch. Polling stops when the returned {@link Disposable} is
+     * disposed, after which the listener is completed, or on the first failed read, which is reported to the listener.
+     */
+    public Disposable streamApplicationLogs(UUID applicationGuid, ApplicationLogListener listener) {
+        return streamApplicationLogs(applicationGuid, listener, STREAMING_POLLING_INTERVAL, Schedulers.boundedElastic());
+    }
+
+    Disposable streamApplicationLogs(UUID applicationGuid, ApplicationLogListener listener, Duration pollingInterval, Scheduler scheduler) {
+        LogCursor cursor = new LogCursor(TimeUnit.MILLISECONDS.toNanos(scheduler.now(TimeUnit.MILLISECONDS)));
+        EnvelopeDecoder decoder = new EnvelopeDecoder();
+        return Mono.defer(() -> read(buildAscendingRequest(applicationGuid, cursor.getStartTime(), null)))
+                   .map(response -> cursor.advance(response.getEnvelopes()
+                                                           .getBatch()))
+                   .repeatWhen(polls -> polls.concatMap(poll -> Mono.delay(cursor.isCaughtUp() ? pollingInterval : Duration.ZERO,
+                                                                           scheduler)))
+                   .concatMapIterable(Function.identity(), 1)
+                   .map(decoder::decode)
+                   .doOnCancel(listener::onComplete)
+                   .subscribe(listener::onMessage, listener::onError, listener::onComplete);
+    }
+
+    /**
+     * Reads all logs of an application from a time window, in chronological order. Unlike {@link #getRecentLogs(UUID, LocalDateTime)},
+     * the result is not capped: the window is split into time slices, each of which is read page by page until it is fully covered. A few
+     * slices are read in parallel and pages are only fetched as the returned flux is consumed, so memory use does not depend on the size
+     * of the window.
+     *
+     * @param from the start of the window in UTC, inclusive
+     * @param to the end of the window in UTC, exclusive
+     */
+    public Flux<ApplicationLog> getApplicationLogs(UUID applicationGuid, LocalDateTime from, LocalDateTime to) {
+        long startTime = toEpochNanos(from);
+        long endTime = toEpochNanos(to);
+        if (endTime <= startTime) {
+            return Flux.empty();
+        }
+        long sliceCount = Math.max(1, Math.min(MAX_TIME_SLICES, (endTime - startTime) / MIN_TIME_SLICE_DURATION.toNanos()));
+        long sliceDuration = (endTime - startTime + sliceCount - 1) / sliceCount;
+        return Flux.defer(() -> {
+            EnvelopeDecoder decoder = new EnvelopeDecoder();
+            return Flux.range(0, (int) sliceCount)
+                       .flatMapSequential(slice -> readTimeSlice(applicationGuid, startTime + slice * sliceDuration,
+                                                                 Math.min(endTime, startTime + (slice + 1) * sliceDuration)),
+                                          MAX_CONCURRENT_TIME_SLICES, 1)
+                       .map(decoder::decode);
+        });
+    }
+
+    private Flux<Envelope> readTimeSlice(UUID applicationGuid, long startTime, long endTime) {
+        LogCursor cursor = new LogCursor(startTime);
+        return Mono.defer(() -> read(buildAscendingRequest(applicationGuid, cursor.getStartTime(), endTime)))
+                   .map(response -> cursor.advance(response.getEnvelopes()
+                                                           .getBatch()))
+                   .repeat(() -> !cursor.isCaughtUp())
+                   .concatMapIterable(Function.identity(), 1);
     }
 
-    private ApplicationLog mapToAppLog(Envelope envelope) {
-        return ImmutableApplicationLog.builder()
-                                      .applicationGuid(envelope.getSourceId())
-                                      .message(decodeLogPayload(envelope.getLog()
-                                                                        .getPayload()))
-                                      .timestamp(fromLogTimestamp(envelope.getTimestamp()))
-                                      .messageType(fromLogMessageType(envelope.getLog()
-                                                                              .getType()
-                                                                              .getValue()))
-                                      .sourceName(envelope.getTags()
-                                                          .get(SOURCE_TYPE_KEY_NAME))
-                                      .build();
+    private ReadRequest buildAscendingRequest(UUID applicationGuid, long startTime, Long endTime) {
+        return ReadRequest.builder()
+                          .envelopeType(EnvelopeType.LOG)
+                          .sourceId(applicationGuid.toString())
+                          .limit(MAX_LOG_COUNT)
+                          .startTime(startTime)
+                          .endTime(endTime)
+                          .build();
     }
 
-    private String decodeLogPayload(String base64Encoded) {
-        var result = Base64.getDecoder()
-                           .decode(base64Encoded.getBytes(StandardCharsets.UTF_8));
-        return new String(result, StandardCharsets.UTF_8);
+    private long toEpochNanos(LocalDateTime dateTime) {
+        var instant = dateTime.toInstant(ZoneOffset.UTC);
+        return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
     }
 
-    private LocalDateTime fromLogTimestamp(long timestampNanos) {
-        Duration duration = Duration.ofNanos(timestampNanos);
-        Instant instant = Instant.ofEpochSecond(duration.getSeconds(), duration.getNano());
-        return LocalDateTime.ofInstant(instant, ZoneId.of("UTC"));
+    /**
+     * The position of a log tail. Reads start at the timestamp of the latest envelope delivered so far, because further envelopes with the
+     * same timestamp may still arrive. The envelopes which were already delivered for that timestamp are remembered and filtered out.
+     */
+    private static class LogCursor {
+
+        private long startTime;
+        private Set<Envelope> deliveredAtStartTime = Collections.emptySet();
+        private boolean caughtUp;
+
+        LogCursor(long startTime) {
+            this.startTime = startTime;
+        }
+
+        long getStartTime() {
+            return startTime;
+        }
+
+        boolean isCaughtUp() {
+            return caughtUp;
+        }
+
+        List<Envelope> advance(List<Envelope> batch) {
+            caughtUp = batch.size() < MAX_LOG_COUNT;
+            List<Envelope> newEnvelopes = batch.stream()
+                                               .filter(envelope -> !deliveredAtStartTime.contains(envelope))
+                                               .collect(Collectors.toList());
+            if (batch.isEmpty()) {
+                return newEnvelopes;
+            }
+            long latestTimestamp = batch.get(batch.size() - 1)
+                                        .getTimestamp();
+            Set<Envelope> deliveredAtLatestTimestamp = new HashSet<>();
+            if (latestTimestamp == startTime) {
+                if (newEnvelopes.isEmpty() && !caughtUp) {
+                    // A whole batch shares one timestamp, so the rest of it can not be read without moving past it
+                    startTime++;
+                    deliveredAtStartTime = Collections.emptySet();
+                    return newEnvelopes;
+                }
+                deliveredAtLatestTimestamp.addAll(deliveredAtStartTime);
+            }
+            batch.stream()
+                 .filter(envelope -> envelope.getTimestamp() == latestTimestamp)
+                 .forEach(deliveredAtLatestTimestamp::add);
+            startTime = latestTimestamp;
+            deliveredAtStartTime = deliveredAtLatestTimestamp;
+            return newEnvelopes;
+        }
     }
 
-    private ApplicationLog.MessageType fromLogMessageType(String messageType) {
-        return "OUT".equals(messageType) ? ApplicationLog.MessageType.STDOUT : ApplicationLog.MessageType.STDERR;
+
+    private static class PeekingIterator {
+
+        private final Iterator<ApplicationLog> iterator;
+        private ApplicationLog next;
+
+        PeekingIterator(Iterator<ApplicationLog> iterator) {
+            this.iterator = iterator;
+            this.next = iterator.next();
+        }
+
+        ApplicationLog peek() {
+            return next;
+        }
+
+        boolean hasNext() {
+            return next != null;
+        }
+
+        ApplicationLog next() {
+            ApplicationLog current = next;
+            next = iterator.hasNext() ? iterator.next() : null;
+            return current;
+        }
     }
+
 }
@@ -3,6 +3,7 @@ package com.sap.cloudfoundry.client.facade.adapters;
 import org.cloudfoundry.reactor.ConnectionContext;
 import org.cloudfoundry.reactor.TokenProvider;
 
+import com.sap.cloudfoundry.client.facade.Messages;
 import com.sap.cloudfoundry.client.facade.oauth2.OAuth2AccessTokenWithAdditionalInfo;
 import com.sap.cloudfoundry.client.facade.oauth2.OAuthClient;
 
@@ -18,10 +19,10 @@ public class OAuthTokenProvider implements TokenProvider {
 
     @Override
     public Mono<String> getToken(ConnectionContext connectionContext) {
-        return Mono.fromSupplier(() -> {
-            OAuth2AccessTokenWithAdditionalInfo token = oAuthClient.getToken();
-            return token.getAuthorizationHeaderValue();
-        });
+        // Requests are sent from Netty event loop threads, so the token must not be obtained by blocking
+        return oAuthClient.getTokenReactively()
+                          .map(OAuth2AccessTokenWithAdditionalInfo::getAuthorizationHeaderValue)
+                          .switchIfEmpty(Mono.error(() -> new IllegalStateException(Messages.NO_OAUTH_TOKEN_AVAILABLE)));
     }
 
 }
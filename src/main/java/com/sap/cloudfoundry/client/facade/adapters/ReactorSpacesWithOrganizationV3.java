@@ -0,0 +1,111 @@
+package com.sap.cloudfoundry.client.facade.adapters;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudfoundry.client.v3.organizations.Organization;
+import org.cloudfoundry.client.v3.organizations.OrganizationResource;
+import org.cloudfoundry.client.v3.spaces.GetSpaceRequest;
+import org.cloudfoundry.client.v3.spaces.ListSpacesRequest;
+import org.cloudfoundry.client.v3.spaces.Space;
+import org.cloudfoundry.client.v3.spaces.SpaceResource;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.TokenProvider;
+import org.cloudfoundry.reactor.client.v3.AbstractClientV3Operations;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads spaces together with their organizations with {@code include=organization}, which the spaces client of the cloud foundry client
+ * does not support, so that a target is resolved in a single request.
+ */
+public class ReactorSpacesWithOrganizationV3 extends AbstractClientV3Operations {
+
+    private static final String INCLUDE_PARAMETER = "include";
+    private static final String ORGANIZATION = "organization";
+    private static final int MAX_PAGE_SIZE = 5000;
+
+    private final ObjectMapper objectMapper;
+
+    public ReactorSpacesWithOrganizationV3(ConnectionContext connectionContext, Mono<String> root, TokenProvider tokenProvider,
+                                           Map<String, String> requestTags) {
+        super(connectionContext, root, tokenProvider, requestTags);
+        this.objectMapper = connectionContext.getObjectMapper();
+    }
+
+    /**
+     * @return the space, with a null organization if the controller did not include it
+     */
+    public Mono<SpaceWithOrganization> get(String spaceGuid) {
+        GetSpaceRequest request = GetSpaceRequest.builder()
+                                                 .spaceId(spaceGuid)
+                                                 .build();
+        Mono<JsonNode> response = get(request, JsonNode.class, builder -> builder.pathSegment("spaces", spaceGuid)
+                                                                                 .queryParam(INCLUDE_PARAMETER, ORGANIZATION));
+        return response.flatMap(body -> Mono.fromCallable(() -> toSpaceWithOrganization(body)));
+    }
+
+    /**
+     * Lists the spaces with the given name in all organizations visible to the user. The result is incomplete if there are more of them
+     * than fit on a single page, which is then indicated by {@link SpacesWithOrganizations#isComplete()}.
+     */
+    public Mono<SpacesWithOrganizations> list(String spaceName) {
+        ListSpacesRequest request = ListSpacesRequest.builder()
+                                                     .name(spaceName)
+                                                     .perPage(MAX_PAGE_SIZE)
+                                                     .build();
+        Mono<JsonNode> response = get(request, JsonNode.class, builder -> builder.pathSegment("spaces")
+                                                                                 .queryParam(INCLUDE_PARAMETER, ORGANIZATION));
+        return response.flatMap(body -> Mono.fromCallable(() -> toSpacesWithOrganizations(body)));
+    }
+
+    private SpaceWithOrganization toSpaceWithOrganization(JsonNode response) throws JsonProcessingException {
+        Space space = objectMapper.treeToValue(response, SpaceResource.class);
+        return new SpaceWithOrganization(space, getIncludedOrganizations(response).get(getOrganizationGuid(space)));
+    }
+
+    private SpacesWithOrganizations toSpacesWithOrganizations(JsonNode response) throws JsonProcessingException {
+        Map<String, Organization> organizations = getIncludedOrganizations(response);
+        List<SpaceWithOrganization> spaces = new ArrayList<>();
+        for (JsonNode resource : response.path("resources")) {
+            Space space = objectMapper.treeToValue(resource, SpaceResource.class);
+            spaces.add(new SpaceWithOrganization(space, organizations.get(getOrganizationGuid(space))));
+        }
+        JsonNode nextPage = response.path("pagination")
+                                    .path("next");
+        return new SpacesWithOrganizations(spaces, nextPage.isNull() || nextPage.isMissingNode());
+    }
+
+    private Map<String, Organization> getIncludedOrganizations(JsonNode response) throws JsonProcessingException {
+        Map<String, Organization> organizations = new HashMap<>();
+        for (JsonNode included : response.path("included")
+                                         .path("organizations")) {
+            Organization organization = objectMapper.treeToValue(included, OrganizationResource.class);
+            organizations.put(organization.getId(), organization);
+        }
+        return organizations;
+    }
+
+    private static String getOrganizationGuid(Space space) {
+        return space.getRelationships()
+                    .getOrganization()
+                    .getData()
+                    .getId();
+    }
+
+    /**
+     * @param organization the organization of the space, or null if it was not included in the response
+     */
+    public record SpaceWithOrganization(Space space, Organization organization) {
+    }
+
+    public record SpacesWithOrganizations(List<SpaceWithOrganization> spaces, boolean isComplete) {
+    }
+
+}
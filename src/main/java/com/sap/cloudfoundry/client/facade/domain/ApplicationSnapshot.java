@@ -0,0 +1,35 @@
+package com.sap.cloudfoundry.client.facade.domain;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sap.cloudfoundry.client.facade.Nullable;
+
+@Value.Immutable
+@JsonSerialize(as = ImmutableApplicationSnapshot.class)
+@JsonDeserialize(as = ImmutableApplicationSnapshot.class)
+public interface ApplicationSnapshot {
+
+    CloudApplication getApplication();
+
+    /**
+     * @return the web process of the application, or null if it has none
+     */
+    @Nullable
+    CloudProcess getProcess();
+
+    @Value.Default
+    default List<CloudRoute> getRoutes() {
+        return Collections.emptyList();
+    }
+
+    @Value.Default
+    default List<CloudServiceBinding> getServiceBindings() {
+        return Collections.emptyList();
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.sap.cloudfoundry.client.facade.domain;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Hex encoded digests and size of a file.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableFileDigests.class)
+@JsonDeserialize(as = ImmutableFileDigests.class)
+public interface FileDigests {
+
+    String getSha1();
+
+    String getSha256();
+
+    long getSize();
+
+}
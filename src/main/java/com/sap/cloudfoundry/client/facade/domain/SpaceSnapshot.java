@@ -0,0 +1,34 @@
+package com.sap.cloudfoundry.client.facade.domain;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * The applications of a space together with their web processes, routes and service bindings, as read at one point in time.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableSpaceSnapshot.class)
+@JsonDeserialize(as = ImmutableSpaceSnapshot.class)
+public interface SpaceSnapshot {
+
+    CloudSpace getSpace();
+
+    @Value.Default
+    default List<ApplicationSnapshot> getApplications() {
+        return Collections.emptyList();
+    }
+
+    default Optional<ApplicationSnapshot> getApplication(String applicationName) {
+        return getApplications().stream()
+                                .filter(application -> applicationName.equals(application.getApplication()
+                                                                                         .getName()))
+                                .findFirst();
+    }
+
+}
@@ -3,11 +3,13 @@ package com.sap.cloudfoundry.client.facade.oauth2;
 import java.util.Map;
 
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
 
 public class OAuth2AccessTokenWithAdditionalInfo {
 
     private OAuth2AccessToken oAuth2AccessToken;
     private Map<String, Object> additionalInfo;
+    private OAuth2RefreshToken refreshToken;
 
     public OAuth2AccessTokenWithAdditionalInfo(OAuth2AccessToken oAuth2AccessToken) {
         this.oAuth2AccessToken = oAuth2AccessToken;
@@ -18,6 +20,13 @@ public class OAuth2AccessTokenWithAdditionalInfo {
         this.additionalInfo = additionalInfo;
     }
 
+    public OAuth2AccessTokenWithAdditionalInfo(OAuth2AccessToken oAuth2AccessToken, Map<String, Object> additionalInfo,
+                                               OAuth2RefreshToken refreshToken) {
+        this.oAuth2AccessToken = oAuth2AccessToken;
+        this.additionalInfo = additionalInfo;
+        this.refreshToken = refreshToken;
+    }
+
     public OAuth2AccessToken getOAuth2AccessToken() {
         return oAuth2AccessToken;
     }
@@ -26,6 +35,13 @@ public class OAuth2AccessTokenWithAdditionalInfo {
         return additionalInfo;
     }
 
+    /**
+     * @return the token which can be exchanged for a new access token, or null if none was issued
+     */
+    public OAuth2RefreshToken getRefreshToken() {
+        return refreshToken;
+    }
+
     public String getAuthorizationHeaderValue() {
         return getOAuth2AccessToken().getTokenType()
                                      .getValue()
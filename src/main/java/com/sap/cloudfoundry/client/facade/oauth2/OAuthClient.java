@@ -1,15 +1,20 @@
 package com.sap.cloudfoundry.client.facade.oauth2;
 
+import java.lang.ref.WeakReference;
 import java.net.URL;
+import java.text.MessageFormat;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import com.sap.cloudfoundry.client.facade.Constants;
+import com.sap.cloudfoundry.client.facade.Messages;
 import com.sap.cloudfoundry.client.facade.util.JsonUtil;
 import org.cloudfoundry.reactor.TokenProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.util.LinkedMultiValueMap;
@@ -22,53 +27,126 @@ import org.springframework.web.server.ResponseStatusException;
 
 import com.sap.cloudfoundry.client.facade.CloudCredentials;
 import com.sap.cloudfoundry.client.facade.adapters.OAuthTokenProvider;
+import com.sap.cloudfoundry.client.facade.oauth2.TokenCache.SharedToken;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
 import reactor.util.retry.RetryBackoffSpec;
 
 /**
- * Client that can handle authentication against a UAA instance
+ * Client that can handle authentication against a UAA instance. Refreshable tokens are renewed in the background until the client is
+ * closed or garbage collected, or until it has not been used for the lifetime of its token.
  */
 public class OAuthClient {
 
     private static final long MAX_RETRY_ATTEMPTS = 3;
     private static final Duration RETRY_INTERVAL = Duration.ofSeconds(3);
+    private static final Duration REFRESH_WINDOW = Duration.ofSeconds(50);
+    private static final Duration PROACTIVE_REFRESH_WINDOW = Duration.ofMinutes(2);
+    private static final Logger LOGGER = LoggerFactory.getLogger(OAuthClient.class);
+    private static final Scheduler REFRESH_SCHEDULER = Schedulers.newBoundedElastic(2, Integer.MAX_VALUE, "oauth-token-refresh", 60, true);
 
     private final URL authorizationUrl;
-    protected OAuth2AccessTokenWithAdditionalInfo token;
-    protected CloudCredentials credentials;
+    protected volatile OAuth2AccessTokenWithAdditionalInfo token;
+    protected volatile CloudCredentials credentials;
     protected final WebClient webClient;
     protected final TokenFactory tokenFactory;
+    private final Scheduler refreshScheduler;
+    private final TokenCache tokenCache;
+    private final Object refreshLock = new Object();
+    private volatile SharedToken sharedToken; // shared with other clients for the same credentials, unless they carry a token of their own
+    private Disposable proactiveRefresh;
+    private boolean closed;
+    private volatile Instant lastUsedAt = Instant.now();
 
     public OAuthClient(URL authorizationUrl, WebClient webClient) {
+        this(authorizationUrl, webClient, REFRESH_SCHEDULER, TokenCache.shared());
+    }
+
+    OAuthClient(URL authorizationUrl, WebClient webClient, Scheduler refreshScheduler, TokenCache tokenCache) {
         this.authorizationUrl = authorizationUrl;
         this.webClient = webClient;
         this.tokenFactory = new TokenFactory();
+        this.refreshScheduler = refreshScheduler;
+        this.tokenCache = tokenCache;
     }
 
     public void init(CloudCredentials credentials) {
         if (credentials != null) {
+            synchronized (refreshLock) {
+                this.closed = false;
+            }
+            this.lastUsedAt = Instant.now();
             this.credentials = credentials;
             if (credentials.getToken() != null) {
                 this.token = credentials.getToken();
+                this.sharedToken = new SharedToken();
+                sharedToken.set(token);
             } else {
-                this.token = createToken();
+                // The refresh token of a previous user must not be used for the new credentials
+                this.token = null;
+                this.sharedToken = tokenCache.get(authorizationUrl, credentials);
+                this.token = obtainSharedToken();
             }
+            scheduleProactiveRefresh(token);
         }
     }
 
+    private OAuth2AccessTokenWithAdditionalInfo obtainSharedToken() {
+        OAuth2AccessTokenWithAdditionalInfo cachedToken = sharedToken.get();
+        if (cachedToken != null && !shouldRefreshToken(cachedToken, REFRESH_WINDOW)) {
+            return cachedToken;
+        }
+        return refreshTokenReactively(REFRESH_WINDOW).block();
+    }
+
     public void clear() {
-        this.token = null;
-        this.credentials = null;
+        synchronized (refreshLock) {
+            cancelProactiveRefresh();
+            this.token = null;
+            this.credentials = null;
+            this.sharedToken = null;
+        }
     }
 
+    /**
+     * Stops refreshing the token in the background. The current token can still be used, and is refreshed on demand if it is about to
+     * expire, until the client is initialized again.
+     */
+    public void close() {
+        synchronized (refreshLock) {
+            closed = true;
+            cancelProactiveRefresh();
+        }
+    }
+
+    /**
+     * Returns the current token, refreshing it first if it is about to expire. Refreshable tokens are normally refreshed in the background
+     * before they get close to their expiration, so callers rarely have to wait at all.
+     */
     public OAuth2AccessTokenWithAdditionalInfo getToken() {
-        if (token == null) {
-            return null;
+        lastUsedAt = Instant.now();
+        OAuth2AccessTokenWithAdditionalInfo currentToken = token;
+        if (currentToken == null || !shouldRefreshToken(currentToken, REFRESH_WINDOW)) {
+            return currentToken;
         }
-        if (shouldRefreshToken()) {
-            token = createToken();
+        return refreshTokenReactively(REFRESH_WINDOW).block();
+    }
+
+    /**
+     * Reactive variant of {@link #getToken()}, which never blocks the subscribing thread. The current token is emitted right away and an
+     * expiring one is refreshed with {@link #createTokenReactively()}. Only one refresh is ever in flight for the same credentials: all
+     * concurrent callers, including those of other clients which share the token, wait for it and then share the new token.
+     */
+    public Mono<OAuth2AccessTokenWithAdditionalInfo> getTokenReactively() {
+        lastUsedAt = Instant.now();
+        OAuth2AccessTokenWithAdditionalInfo currentToken = token;
+        if (currentToken == null || !shouldRefreshToken(currentToken, REFRESH_WINDOW)) {
+            return Mono.justOrEmpty(currentToken);
         }
-        return token;
+        return refreshTokenReactively(REFRESH_WINDOW);
     }
 
     public String getAuthorizationHeaderValue() {
@@ -83,14 +161,149 @@ public class OAuthClient {
         return new OAuthTokenProvider(this);
     }
 
-    private boolean shouldRefreshToken() {
-        return credentials.isRefreshable() && token.getOAuth2AccessToken()
-                                                   .getExpiresAt()
-                                                   .isBefore(Instant.now()
-                                                                    .plus(50, ChronoUnit.SECONDS));
+    private Mono<OAuth2AccessTokenWithAdditionalInfo> refreshTokenReactively(Duration refreshWindow) {
+        SharedToken currentSharedToken = sharedToken;
+        if (currentSharedToken == null) {
+            // The client was cleared
+            return Mono.justOrEmpty(token);
+        }
+        return currentSharedToken.refresh(() -> obtainRefreshedToken(currentSharedToken, refreshWindow))
+                                 .doOnNext(this::updateToken);
+    }
+
+    private Mono<OAuth2AccessTokenWithAdditionalInfo> obtainRefreshedToken(SharedToken currentSharedToken, Duration refreshWindow) {
+        OAuth2AccessTokenWithAdditionalInfo sharedValue = currentSharedToken.get();
+        if (sharedValue != null && !shouldRefreshToken(sharedValue, refreshWindow)) {
+            // Another client with the same credentials has already refreshed the token
+            return Mono.just(sharedValue);
+        }
+        if (sharedValue != null) {
+            // An expiring shared token is still useful for its refresh token
+            token = sharedValue;
+        }
+        return createTokenReactively();
+    }
+
+    private void updateToken(OAuth2AccessTokenWithAdditionalInfo newToken) {
+        if (newToken != token) {
+            token = newToken;
+            scheduleProactiveRefresh(newToken);
+        }
+    }
+
+    private boolean shouldRefreshToken(OAuth2AccessTokenWithAdditionalInfo currentToken, Duration refreshWindow) {
+        CloudCredentials currentCredentials = credentials;
+        Instant expiresAt = currentToken.getOAuth2AccessToken()
+                                        .getExpiresAt();
+        return currentCredentials != null && currentCredentials.isRefreshable() && expiresAt != null
+            && expiresAt.isBefore(Instant.now()
+                                         .plus(refreshWindow));
+    }
+
+    private void scheduleProactiveRefresh(OAuth2AccessTokenWithAdditionalInfo newToken) {
+        synchronized (refreshLock) {
+            cancelProactiveRefresh();
+            Instant expiresAt = newToken.getOAuth2AccessToken()
+                                        .getExpiresAt();
+            if (closed || credentials == null || !credentials.isRefreshable() || expiresAt == null) {
+                return;
+            }
+            long millisUntilExpiration = Duration.between(Instant.now(), expiresAt)
+                                                 .toMillis();
+            if (millisUntilExpiration <= 0) {
+                return;
+            }
+            // Short-lived tokens are refreshed halfway through their lifetime instead of over and over again
+            long delay = Math.max(millisUntilExpiration - PROACTIVE_REFRESH_WINDOW.toMillis(), millisUntilExpiration / 2);
+            // The scheduler must not keep a client alive which is no longer referenced by anyone else
+            WeakReference<OAuthClient> client = new WeakReference<>(this);
+            proactiveRefresh = refreshScheduler.schedule(() -> refreshProactively(client), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void refreshProactively(WeakReference<OAuthClient> client) {
+        OAuthClient oAuthClient = client.get();
+        if (oAuthClient != null) {
+            oAuthClient.refreshProactively();
+        }
+    }
+
+    private void refreshProactively() {
+        OAuth2AccessTokenWithAdditionalInfo currentToken = token;
+        if (currentToken == null || isUnusedForLifetimeOf(currentToken)) {
+            // The token is refreshed on demand if the client is used again
+            return;
+        }
+        try {
+            refreshTokenReactively(PROACTIVE_REFRESH_WINDOW).block();
+        } catch (RuntimeException e) {
+            // The token is still valid for a while, so callers will refresh it on demand if this keeps failing
+            LOGGER.warn(MessageFormat.format(Messages.PROACTIVE_TOKEN_REFRESH_FAILED_WITH_0, e.getMessage()), e);
+        }
+    }
+
+    private boolean isUnusedForLifetimeOf(OAuth2AccessTokenWithAdditionalInfo currentToken) {
+        Instant now = Instant.now();
+        Instant issuedAt = currentToken.getOAuth2AccessToken()
+                                       .getIssuedAt();
+        Instant expiresAt = currentToken.getOAuth2AccessToken()
+                                        .getExpiresAt();
+        if (expiresAt == null) {
+            return false;
+        }
+        Duration lifetime = Duration.between(issuedAt != null ? issuedAt : now, expiresAt);
+        return lastUsedAt.plus(lifetime)
+                         .isBefore(now);
+    }
+
+    private void cancelProactiveRefresh() {
+        if (proactiveRefresh != null) {
+            proactiveRefresh.dispose();
+            proactiveRefresh = null;
+        }
     }
 
+    /**
+     * Blocking variant of {@link #createTokenReactively()}.
+     */
     protected OAuth2AccessTokenWithAdditionalInfo createToken() {
+        return createTokenReactively().block();
+    }
+
+    /**
+     * Renews the current token with its refresh token, if it has one, and authenticates with the password of the credentials otherwise or
+     * if the renewal fails. The token requests are sent without blocking. Subclasses which obtain their tokens differently override this
+     * method, which every refresh of the token goes through.
+     */
+    protected Mono<OAuth2AccessTokenWithAdditionalInfo> createTokenReactively() {
+        OAuth2AccessTokenWithAdditionalInfo currentToken = token;
+        Mono<OAuth2AccessTokenWithAdditionalInfo> passwordGrant = Mono.defer(() -> requestOauth2AccessToken(buildPasswordGrant(),
+                                                                                                            MAX_RETRY_ATTEMPTS))
+                                                                      .map(tokenFactory::createToken);
+        if (currentToken == null || currentToken.getRefreshToken() == null) {
+            return passwordGrant;
+        }
+        // An expired or revoked refresh token does not become valid by retrying, the password grant is used instead
+        return Mono.defer(() -> requestOauth2AccessToken(buildRefreshTokenGrant(currentToken.getRefreshToken()
+                                                                                            .getTokenValue()),
+                                                         0))
+                   .map(tokenFactory::createToken)
+                   .onErrorResume(e -> {
+                       LOGGER.warn(MessageFormat.format(Messages.REFRESH_TOKEN_GRANT_FAILED_WITH_0, e.getMessage()), e);
+                       return passwordGrant;
+                   });
+    }
+
+    private MultiValueMap<String, String> buildRefreshTokenGrant(String refreshToken) {
+        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+        formData.add("grant_type", "refresh_token");
+        formData.add("client_id", credentials.getClientId());
+        formData.add("client_secret", credentials.getClientSecret());
+        formData.add("refresh_token", refreshToken);
+        return formData;
+    }
+
+    private MultiValueMap<String, String> buildPasswordGrant() {
         MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
         formData.add("grant_type", "password");
         formData.add("client_id", credentials.getClientId());
@@ -99,9 +312,7 @@ public class OAuthClient {
         formData.add("password", credentials.getPassword());
         formData.add("response_type", "token");
         addLoginHintIfPresent(formData);
-
-        Oauth2AccessTokenResponse oauth2AccessTokenResponse = fetchOauth2AccessToken(formData);
-        return tokenFactory.createToken(oauth2AccessTokenResponse);
+        return formData;
     }
 
     private void addLoginHintIfPresent(MultiValueMap<String, String> formData) {
@@ -112,20 +323,17 @@ public class OAuthClient {
         }
     }
 
-    private Oauth2AccessTokenResponse fetchOauth2AccessToken(MultiValueMap<String, String> formData) {
-        try {
-            return webClient.post()
-                            .uri(authorizationUrl + "/oauth/token")
-                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-                            .body(BodyInserters.fromFormData(formData))
-                            .retrieve()
-                            .bodyToFlux(Oauth2AccessTokenResponse.class)
-                            .retryWhen(Retry.fixedDelay(MAX_RETRY_ATTEMPTS, RETRY_INTERVAL)
-                                            .onRetryExhaustedThrow(this::throwOriginalError))
-                            .blockFirst();
-        } catch (WebClientResponseException e) {
-            throw new ResponseStatusException(e.getStatusCode(), e.getMessage(), e);
-        }
+    Mono<Oauth2AccessTokenResponse> requestOauth2AccessToken(MultiValueMap<String, String> formData, long maxRetryAttempts) {
+        return webClient.post()
+                        .uri(authorizationUrl + "/oauth/token")
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                        .body(BodyInserters.fromFormData(formData))
+                        .retrieve()
+                        .bodyToMono(Oauth2AccessTokenResponse.class)
+                        .retryWhen(Retry.fixedDelay(maxRetryAttempts, RETRY_INTERVAL)
+                                        .onRetryExhaustedThrow(this::throwOriginalError))
+                        .onErrorMap(WebClientResponseException.class,
+                                    e -> new ResponseStatusException(e.getStatusCode(), e.getMessage(), e));
     }
 
     private Throwable throwOriginalError(RetryBackoffSpec retrySpec, Retry.RetrySignal signal) {
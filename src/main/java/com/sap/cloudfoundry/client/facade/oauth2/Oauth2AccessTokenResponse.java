@@ -5,6 +5,7 @@ import org.immutables.value.Value;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sap.cloudfoundry.client.facade.Nullable;
 
 @Value.Immutable
 @JsonSerialize(as = ImmutableOauth2AccessTokenResponse.class)
@@ -17,9 +18,11 @@ public interface Oauth2AccessTokenResponse {
     @JsonProperty("token_type")
     String getTokenType();
 
+    @Nullable
     @JsonProperty("id_token")
     String getIdToken();
 
+    @Nullable
     @JsonProperty("refresh_token")
     String getRefreshToken();
 
@@ -0,0 +1,146 @@
+package com.sap.cloudfoundry.client.facade.oauth2;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import com.sap.cloudfoundry.client.facade.CloudCredentials;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Tokens shared by all OAuth clients which authenticate against the same UAA with the same credentials, so that clients created for
+ * different targets of one user obtain and refresh a single token. The secrets of the credentials are part of the key, as a digest, so a
+ * client never gets a token for credentials which it could not have authenticated with itself.
+ * <p>
+ * Entries are only held weakly, by the clients which use them, and are dropped once their token has expired, so the cache does not grow
+ * with every user who ever logged in.
+ */
+class TokenCache {
+
+    private static final TokenCache SHARED = new TokenCache();
+
+    private final Map<Key, WeakReference<SharedToken>> tokens = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    TokenCache() {
+        this(Clock.systemUTC());
+    }
+
+    TokenCache(Clock clock) {
+        this.clock = clock;
+    }
+
+    static TokenCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the shared token of the credentials, through which it is obtained and refreshed, or null if the credentials already carry a
+     *         token of their own
+     */
+    SharedToken get(URL authorizationUrl, CloudCredentials credentials) {
+        if (credentials.getToken() != null) {
+            return null;
+        }
+        Key key = new Key(Objects.toString(authorizationUrl), credentials.getClientId(), credentials.getEmail(), credentials.getOrigin(),
+                          digest(credentials.getClientSecret(), credentials.getPassword()));
+        removeStaleEntries();
+        SharedToken[] sharedToken = new SharedToken[1];
+        // The entry is only referenced weakly, so the shared token has to be kept in a local variable until it is returned
+        tokens.compute(key, (k, reference) -> {
+            sharedToken[0] = reference != null ? reference.get() : null;
+            if (sharedToken[0] != null && !sharedToken[0].isExpired(clock.instant())) {
+                return reference;
+            }
+            sharedToken[0] = new SharedToken();
+            return new WeakReference<>(sharedToken[0]);
+        });
+        return sharedToken[0];
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    private void removeStaleEntries() {
+        Instant now = clock.instant();
+        tokens.values()
+              .removeIf(reference -> {
+                  SharedToken sharedToken = reference.get();
+                  return sharedToken == null || sharedToken.isExpired(now);
+              });
+    }
+
+    private static String digest(String... secrets) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            for (String secret : secrets) {
+                sha256.update(Objects.toString(secret, "")
+                                     .getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) 0);
+            }
+            return HexFormat.of()
+                            .formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The token of one set of credentials, together with the refresh of it which is in flight, if any.
+     */
+    static class SharedToken {
+
+        private volatile OAuth2AccessTokenWithAdditionalInfo token;
+        private final AtomicReference<Mono<OAuth2AccessTokenWithAdditionalInfo>> pendingRefresh = new AtomicReference<>();
+
+        OAuth2AccessTokenWithAdditionalInfo get() {
+            return token;
+        }
+
+        void set(OAuth2AccessTokenWithAdditionalInfo token) {
+            this.token = token;
+        }
+
+        /**
+         * Refreshes the token with the given supplier, unless a refresh is already in flight, in which case that one is returned instead.
+         * The new token is stored before it is emitted.
+         */
+        Mono<OAuth2AccessTokenWithAdditionalInfo> refresh(Supplier<Mono<OAuth2AccessTokenWithAdditionalInfo>> tokenSupplier) {
+            Mono<OAuth2AccessTokenWithAdditionalInfo> refresh = pendingRefresh.get();
+            while (refresh == null) {
+                Mono<OAuth2AccessTokenWithAdditionalInfo> newRefresh = Mono.defer(tokenSupplier)
+                                                                           .doOnNext(this::set)
+                                                                           .doFinally(signal -> pendingRefresh.set(null))
+                                                                           .cache();
+                refresh = pendingRefresh.compareAndSet(null, newRefresh) ? newRefresh : pendingRefresh.get();
+            }
+            return refresh;
+        }
+
+        boolean isExpired(Instant now) {
+            OAuth2AccessTokenWithAdditionalInfo currentToken = token;
+            if (currentToken == null) {
+                return false;
+            }
+            Instant expiresAt = currentToken.getOAuth2AccessToken()
+                                            .getExpiresAt();
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
+    }
+
+    private record Key(String authorizationUrl, String clientId, String user, String origin, String secretsDigest) {
+    }
+
+}
@@ -7,18 +7,28 @@ import java.util.Base64;
 import java.util.Base64.Decoder;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.sap.cloudfoundry.client.facade.util.JsonUtil;
 
 public class TokenFactory {
 
-    private static final int JWT_TOKEN_PARTS_COUNT = 3;
+    private static final int MAX_CACHED_TOKENS = 64;
+    // Tokens are parsed again whenever they are refreshed or passed in with credentials, so the claims of recent ones are kept
+    private static final Map<String, Map<String, Object>> CACHED_CLAIMS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+            return size() > MAX_CACHED_TOKENS;
+        }
+    };
 
     // Scopes:
     public static final String SCOPE_CC_READ = "cloud_controller.read";
@@ -63,11 +73,31 @@ public class TokenFactory {
     }
 
     private Map<String, Object> parseToken(String tokenString) {
-        String[] headerBodySignature = tokenString.split("\\.");
-        if (headerBodySignature.length != JWT_TOKEN_PARTS_COUNT) {
+        synchronized (CACHED_CLAIMS) {
+            Map<String, Object> claims = CACHED_CLAIMS.get(tokenString);
+            if (claims != null) {
+                return claims;
+            }
+        }
+        Map<String, Object> claims = parseClaims(tokenString);
+        if (!claims.isEmpty()) {
+            claims = Collections.unmodifiableMap(claims);
+            synchronized (CACHED_CLAIMS) {
+                CACHED_CLAIMS.put(tokenString, claims);
+            }
+        }
+        return claims;
+    }
+
+    private Map<String, Object> parseClaims(String tokenString) {
+        // A JWT consists of exactly three non-empty parts: header, body and signature
+        int bodyStart = tokenString.indexOf('.') + 1;
+        int signatureStart = tokenString.indexOf('.', bodyStart) + 1;
+        if (bodyStart == 0 || signatureStart == 0 || signatureStart == tokenString.length()
+            || tokenString.indexOf('.', signatureStart) != -1) {
             return Collections.emptyMap();
         }
-        String body = decode(headerBodySignature[1]);
+        String body = decode(tokenString.substring(bodyStart, signatureStart - 1));
         return JsonUtil.convertJsonToMap(body);
     }
 
@@ -77,7 +107,14 @@ public class TokenFactory {
     }
 
     public OAuth2AccessTokenWithAdditionalInfo createToken(Oauth2AccessTokenResponse oauth2AccessTokenResponse) {
-        return createToken(oauth2AccessTokenResponse.getAccessToken());
+        OAuth2AccessTokenWithAdditionalInfo token = createToken(oauth2AccessTokenResponse.getAccessToken());
+        if (!StringUtils.hasLength(oauth2AccessTokenResponse.getRefreshToken())) {
+            return token;
+        }
+        OAuth2RefreshToken refreshToken = new OAuth2RefreshToken(oauth2AccessTokenResponse.getRefreshToken(),
+                                                                 token.getOAuth2AccessToken()
+                                                                      .getIssuedAt());
+        return new OAuth2AccessTokenWithAdditionalInfo(token.getOAuth2AccessToken(), token.getAdditionalInfo(), refreshToken);
     }
 
 }
@@ -2,6 +2,7 @@ package com.sap.cloudfoundry.client.facade.rest;
 
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -11,6 +12,7 @@ import java.util.UUID;
 import com.sap.cloudfoundry.client.facade.dto.ApplicationToCreateDto;
 import org.cloudfoundry.client.v3.Metadata;
 
+import com.sap.cloudfoundry.client.facade.ReactiveCloudControllerClient;
 import com.sap.cloudfoundry.client.facade.UploadStatusCallback;
 import com.sap.cloudfoundry.client.facade.domain.CloudApplication;
 import com.sap.cloudfoundry.client.facade.domain.CloudAsyncJob;
@@ -32,6 +34,7 @@ import com.sap.cloudfoundry.client.facade.domain.DockerInfo;
 import com.sap.cloudfoundry.client.facade.domain.DropletInfo;
 import com.sap.cloudfoundry.client.facade.domain.InstancesInfo;
 import com.sap.cloudfoundry.client.facade.domain.ServicePlanVisibility;
+import com.sap.cloudfoundry.client.facade.domain.SpaceSnapshot;
 import com.sap.cloudfoundry.client.facade.domain.Staging;
 import com.sap.cloudfoundry.client.facade.domain.Upload;
 import com.sap.cloudfoundry.client.facade.domain.UserRole;
@@ -44,6 +47,10 @@ public interface CloudControllerRestClient {
 
     CloudSpace getTarget();
 
+    ReactiveCloudControllerClient getReactiveClient();
+
+    CloudControllerRestClient withTarget(CloudSpace target);
+
     void addDomain(String domainName);
 
     void addRoute(String host, String domainName, String path);
@@ -164,6 +171,8 @@ public interface CloudControllerRestClient {
 
     List<CloudDomain> getSharedDomains();
 
+    SpaceSnapshot getSpaceSnapshot();
+
     CloudStack getStack(String name);
 
     CloudStack getStack(String name, boolean required);
@@ -208,8 +217,13 @@ public interface CloudControllerRestClient {
 
     CloudPackage asyncUploadApplication(String applicationName, Path file, UploadStatusCallback callback, Duration uploadTimeout);
 
+    CloudPackage asyncUploadApplication(String applicationName, Path file, UploadStatusCallback callback, Duration uploadTimeout,
+                                        boolean matchResources);
+
     Upload getUploadStatus(UUID packageGuid);
 
+    Map<UUID, Upload> getUploadStatuses(Collection<UUID> packageGuids);
+
     CloudTask getTask(UUID taskGuid);
 
     List<CloudTask> getTasks(String applicationName);
@@ -8,10 +8,13 @@ import com.sap.cloudfoundry.client.facade.oauth2.OAuthClient;
 import com.sap.cloudfoundry.client.facade.util.RestUtil;
 import org.cloudfoundry.client.CloudFoundryClient;
 import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.ProxyConfiguration;
+import org.cloudfoundry.reactor.client.ReactorCloudFoundryClient;
 import org.immutables.value.Value;
 import org.springframework.util.StringUtils;
 
 import java.net.URL;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
@@ -19,6 +22,8 @@ import java.util.Optional;
 
 @Value.Immutable
 public abstract class CloudControllerRestClientFactory {
+    private static final int DEFAULT_RESOURCE_GUID_CACHE_MAX_SIZE = 1000;
+
     private final RestUtil restUtil = new RestUtil();
 
     public abstract Optional<Duration> getSslHandshakeTimeout();
@@ -31,11 +36,63 @@ public abstract class CloudControllerRestClientFactory {
 
     public abstract Optional<Duration> getResponseTimeout();
 
+    /**
+     * Negotiates HTTP/2 with the controller, falling back to HTTP/1.1, so that concurrent requests are multiplexed over few connections.
+     */
+    @Value.Default
+    public boolean shouldUseHttp2() {
+        return false;
+    }
+
+    public abstract Optional<Duration> getConnectionMaxIdleTime();
+
+    public abstract Optional<Duration> getConnectionMaxLifeTime();
+
+    /**
+     * Limits the number of requests waiting for a pooled connection. Waiting requests are not limited when not set.
+     */
+    public abstract Optional<Integer> getPendingAcquireMaxCount();
+
+    public abstract Optional<Duration> getPendingAcquireTimeout();
+
+    /**
+     * Evicts idle and expired connections from the pool in the background at this interval, instead of only when they are acquired.
+     */
+    public abstract Optional<Duration> getConnectionEvictionInterval();
+
+    public abstract Optional<Boolean> getKeepAlive();
+
+    public abstract Optional<ProxyConfiguration> getProxyConfiguration();
+
+    /**
+     * Enables caching of application, service instance and domain GUIDs resolved by name. Caching is disabled when not set.
+     */
+    public abstract Optional<Duration> getResourceGuidCacheTimeToLive();
+
+    @Value.Default
+    public int getResourceGuidCacheMaxSize() {
+        return DEFAULT_RESOURCE_GUID_CACHE_MAX_SIZE;
+    }
+
     @Value.Default
     public boolean shouldTrustSelfSignedCertificates() {
         return false;
     }
 
+    /**
+     * Streams package bits in chunks, so that upload progress and the digests of the archive are reported to the upload status callback.
+     */
+    @Value.Default
+    public boolean shouldStreamUploads() {
+        return false;
+    }
+
+    /**
+     * Keeps the SHA-1 digests of application archive entries in this directory, so that uploads with resource matching only hash the
+     * entries which changed since the previous upload. Digests are not kept when not set.
+     */
+    public abstract Optional<Path> getFingerprintIndexDirectory();
+
     @Value.Derived
     public CloudFoundryClientFactory getCloudFoundryClientFactory() {
         ImmutableCloudFoundryClientFactory.Builder builder = ImmutableCloudFoundryClientFactory.builder();
@@ -44,6 +101,14 @@ public abstract class CloudControllerRestClientFactory {
         getConnectionPoolSize().ifPresent(builder::connectionPoolSize);
         getThreadPoolSize().ifPresent(builder::threadPoolSize);
         getResponseTimeout().ifPresent(builder::responseTimeout);
+        builder.shouldUseHttp2(shouldUseHttp2());
+        getConnectionMaxIdleTime().ifPresent(builder::connectionMaxIdleTime);
+        getConnectionMaxLifeTime().ifPresent(builder::connectionMaxLifeTime);
+        getPendingAcquireMaxCount().ifPresent(builder::pendingAcquireMaxCount);
+        getPendingAcquireTimeout().ifPresent(builder::pendingAcquireTimeout);
+        getConnectionEvictionInterval().ifPresent(builder::connectionEvictionInterval);
+        getKeepAlive().ifPresent(builder::keepAlive);
+        getProxyConfiguration().ifPresent(builder::proxyConfiguration);
         return builder.build();
     }
 
@@ -55,16 +120,53 @@ public abstract class CloudControllerRestClientFactory {
         return createClient(controllerUrl, credentials, target, oAuthClient, requestTags);
     }
 
-    public CloudControllerRestClient createClient(URL controllerUrl, CloudCredentials credentials, CloudSpace target) {
-        return createClient(controllerUrl, credentials, target, createOAuthClient(controllerUrl, credentials.getOrigin()),
-                            Collections.emptyMap());
+    /**
+     * Creates a client with an OAuth client of its own, which is closed by {@link CloudControllerRestClientImpl#close()}.
+     */
+    public CloudControllerRestClientImpl createClient(URL controllerUrl, CloudCredentials credentials, CloudSpace target) {
+        OAuthClient oAuthClient = createOAuthClient(controllerUrl, credentials.getOrigin());
+        return createClient(controllerUrl, credentials, target, oAuthClient, Collections.emptyMap(), oAuthClient::close);
     }
 
+    /**
+     * @param oAuthClient is owned by the caller, closing the returned client does not close it
+     */
     public CloudControllerRestClient createClient(URL controllerUrl, CloudCredentials credentials, CloudSpace target,
                                                   OAuthClient oAuthClient, Map<String, String> requestTags) {
+        return createClient(controllerUrl, credentials, target, oAuthClient, requestTags, null);
+    }
+
+    private CloudControllerRestClientImpl createClient(URL controllerUrl, CloudCredentials credentials, CloudSpace target,
+                                                       OAuthClient oAuthClient, Map<String, String> requestTags, Runnable closeAction) {
         oAuthClient.init(credentials);
         CloudFoundryClient delegate = getCloudFoundryClientFactory().createClient(controllerUrl, oAuthClient, requestTags);
-        return new CloudControllerRestClientImpl(delegate, target);
+        return new CloudControllerRestClientImpl(delegate, target, createResourceGuidCache(), createStreamingBitsUploader(delegate),
+                                                 createFingerprintIndex(), closeAction);
+    }
+
+    /**
+     * Closes the connections and stops the event loops of all clients created by this factory, which must not be used afterwards.
+     */
+    public void dispose() {
+        getCloudFoundryClientFactory().dispose();
+    }
+
+    private ResourceGuidCache createResourceGuidCache() {
+        return getResourceGuidCacheTimeToLive().map(timeToLive -> new ResourceGuidCache(timeToLive, getResourceGuidCacheMaxSize()))
+                                               .orElseGet(ResourceGuidCache::disabled);
+    }
+
+    private FingerprintIndex createFingerprintIndex() {
+        return getFingerprintIndexDirectory().map(FingerprintIndex::new)
+                                             .orElseGet(FingerprintIndex::disabled);
+    }
+
+    private StreamingBitsUploader createStreamingBitsUploader(CloudFoundryClient delegate) {
+        if (shouldStreamUploads() && delegate instanceof ReactorCloudFoundryClient reactorClient) {
+            return new StreamingBitsUploader(reactorClient.getConnectionContext(), reactorClient.getTokenProvider(),
+                                             reactorClient.getRootV3(), reactorClient.getRequestTags());
+        }
+        return null;
     }
 
     private OAuthClient createOAuthClient(URL controllerUrl, String origin) {
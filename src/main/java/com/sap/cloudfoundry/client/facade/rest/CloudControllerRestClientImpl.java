@@ -1,5 +1,6 @@
 package com.sap.cloudfoundry.client.facade.rest;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.time.Duration;
@@ -7,21 +8,23 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import com.sap.cloudfoundry.client.facade.CloudException;
 import com.sap.cloudfoundry.client.facade.CloudOperationException;
 import com.sap.cloudfoundry.client.facade.Constants;
 import com.sap.cloudfoundry.client.facade.Messages;
+import com.sap.cloudfoundry.client.facade.ReactiveCloudControllerClient;
 import com.sap.cloudfoundry.client.facade.UploadStatusCallback;
 import com.sap.cloudfoundry.client.facade.adapters.ImmutableRawCloudApplication;
 import com.sap.cloudfoundry.client.facade.adapters.ImmutableRawCloudAsyncJob;
@@ -42,6 +45,7 @@ import com.sap.cloudfoundry.client.facade.adapters.ImmutableRawCloudTask;
 import com.sap.cloudfoundry.client.facade.adapters.ImmutableRawInstancesInfo;
 import com.sap.cloudfoundry.client.facade.adapters.ImmutableRawUserRole;
 import com.sap.cloudfoundry.client.facade.adapters.ImmutableRawV3CloudServiceInstance;
+import com.sap.cloudfoundry.client.facade.domain.ApplicationSnapshot;
 import com.sap.cloudfoundry.client.facade.domain.BitsData;
 import com.sap.cloudfoundry.client.facade.domain.CloudApplication;
 import com.sap.cloudfoundry.client.facade.domain.CloudAsyncJob;
@@ -67,18 +71,25 @@ import com.sap.cloudfoundry.client.facade.domain.DockerCredentials;
 import com.sap.cloudfoundry.client.facade.domain.DockerInfo;
 import com.sap.cloudfoundry.client.facade.domain.DropletInfo;
 import com.sap.cloudfoundry.client.facade.domain.ErrorDetails;
+import com.sap.cloudfoundry.client.facade.domain.FileDigests;
 import com.sap.cloudfoundry.client.facade.domain.ImmutableDropletInfo;
 import com.sap.cloudfoundry.client.facade.domain.ImmutableErrorDetails;
+import com.sap.cloudfoundry.client.facade.domain.ImmutableApplicationSnapshot;
 import com.sap.cloudfoundry.client.facade.domain.ImmutableInstancesInfo;
+import com.sap.cloudfoundry.client.facade.domain.ImmutableSpaceSnapshot;
 import com.sap.cloudfoundry.client.facade.domain.ImmutableUpload;
 import com.sap.cloudfoundry.client.facade.domain.InstancesInfo;
 import com.sap.cloudfoundry.client.facade.domain.RouteDestination;
 import com.sap.cloudfoundry.client.facade.domain.ServicePlanVisibility;
+import com.sap.cloudfoundry.client.facade.domain.SpaceSnapshot;
 import com.sap.cloudfoundry.client.facade.domain.Staging;
-import com.sap.cloudfoundry.client.facade.domain.Status;
 import com.sap.cloudfoundry.client.facade.domain.Upload;
 import com.sap.cloudfoundry.client.facade.domain.UserRole;
 import com.sap.cloudfoundry.client.facade.dto.ApplicationToCreateDto;
+import com.sap.cloudfoundry.client.facade.rest.ResourceGuidCache.ResourceType;
+import com.sap.cloudfoundry.client.facade.rest.FingerprintIndex.Fingerprints;
+import com.sap.cloudfoundry.client.facade.rest.ResourceMatcher.MatchedArchive;
+import com.sap.cloudfoundry.client.facade.util.CloudUtil;
 import com.sap.cloudfoundry.client.facade.util.JobV3Util;
 import org.cloudfoundry.AbstractCloudFoundryException;
 import org.cloudfoundry.client.CloudFoundryClient;
@@ -137,6 +148,7 @@ import org.cloudfoundry.client.v3.organizations.ListOrganizationDomainsRequest;
 import org.cloudfoundry.client.v3.packages.CreatePackageRequest;
 import org.cloudfoundry.client.v3.packages.CreatePackageResponse;
 import org.cloudfoundry.client.v3.packages.GetPackageRequest;
+import org.cloudfoundry.client.v3.packages.ListPackagesRequest;
 import org.cloudfoundry.client.v3.packages.Package;
 import org.cloudfoundry.client.v3.packages.PackageRelationships;
 import org.cloudfoundry.client.v3.packages.PackageResource;
@@ -145,7 +157,10 @@ import org.cloudfoundry.client.v3.packages.UploadPackageRequest;
 import org.cloudfoundry.client.v3.processes.Data;
 import org.cloudfoundry.client.v3.processes.HealthCheck;
 import org.cloudfoundry.client.v3.processes.HealthCheckType;
+import org.cloudfoundry.client.v3.processes.ListProcessesRequest;
+import org.cloudfoundry.client.v3.processes.ProcessResource;
 import org.cloudfoundry.client.v3.processes.UpdateProcessRequest;
+import org.cloudfoundry.client.v3.resourcematch.MatchedResource;
 import org.cloudfoundry.client.v3.roles.ListRolesRequest;
 import org.cloudfoundry.client.v3.roles.RoleResource;
 import org.cloudfoundry.client.v3.roles.RoleType;
@@ -221,19 +236,25 @@ import reactor.core.publisher.Mono;
  */
 public class CloudControllerRestClientImpl implements CloudControllerRestClient {
 
-    private static final long PACKAGE_UPLOAD_JOB_POLLING_PERIOD = TimeUnit.SECONDS.toMillis(5);
     private static final Duration DELETE_JOB_TIMEOUT = Duration.ofMinutes(5);
     private static final Duration BINDING_OPERATIONS_TIMEOUT = Duration.ofMinutes(10);
     private static final int MAX_CHAR_LENGTH_FOR_PARAMS_IN_REQUEST = 4000;
 
     private CloudSpace target; // optional, as some operations do not require a targeted space
     private CloudFoundryClient delegate;
+    private ResourceGuidCache resourceGuidCache = ResourceGuidCache.disabled();
+    private StreamingBitsUploader streamingBitsUploader; // optional, package bits are handed to the delegate when not set
+    private FingerprintIndex fingerprintIndex = FingerprintIndex.disabled();
+    private final ReactiveCloudControllerClient reactiveClient = new ReactiveClient();
+    private final UploadMonitor uploadMonitor;
+    private Runnable closeAction; // optional, releases the resources which were created for this client
 
     /**
      * Only for unit tests. This works around the fact that the initialize method is called within the constructor and hence can not be
      * overloaded, making it impossible to write unit tests that don't trigger network calls.
      */
     protected CloudControllerRestClientImpl() {
+        this.uploadMonitor = new UploadMonitor(reactiveClient::getUploadStatuses);
     }
 
     public CloudControllerRestClientImpl(CloudFoundryClient delegate) {
@@ -241,8 +262,40 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
     }
 
     public CloudControllerRestClientImpl(CloudFoundryClient delegate, CloudSpace target) {
+        this(delegate, target, ResourceGuidCache.disabled());
+    }
+
+    public CloudControllerRestClientImpl(CloudFoundryClient delegate, CloudSpace target, ResourceGuidCache resourceGuidCache) {
+        this(delegate, target, resourceGuidCache, null, FingerprintIndex.disabled());
+    }
+
+    CloudControllerRestClientImpl(CloudFoundryClient delegate, CloudSpace target, ResourceGuidCache resourceGuidCache,
+                                  StreamingBitsUploader streamingBitsUploader, FingerprintIndex fingerprintIndex) {
         this.target = target;
         this.delegate = delegate;
+        this.resourceGuidCache = resourceGuidCache;
+        this.streamingBitsUploader = streamingBitsUploader;
+        this.fingerprintIndex = fingerprintIndex;
+        this.uploadMonitor = new UploadMonitor(reactiveClient::getUploadStatuses);
+    }
+
+    CloudControllerRestClientImpl(CloudFoundryClient delegate, CloudSpace target, ResourceGuidCache resourceGuidCache,
+                                  StreamingBitsUploader streamingBitsUploader, FingerprintIndex fingerprintIndex, Runnable closeAction) {
+        this(delegate, target, resourceGuidCache, streamingBitsUploader, fingerprintIndex);
+        this.closeAction = closeAction;
+    }
+
+    /**
+     * Creates a view of the client for another target. Everything except the target is shared with the client, so that switching between
+     * many targets costs no more than this object. The resources of the client stay owned by it, so closing the view does nothing.
+     */
+    private CloudControllerRestClientImpl(CloudControllerRestClientImpl client, CloudSpace target) {
+        this.target = target;
+        this.delegate = client.delegate;
+        this.resourceGuidCache = client.resourceGuidCache;
+        this.streamingBitsUploader = client.streamingBitsUploader;
+        this.fingerprintIndex = client.fingerprintIndex;
+        this.uploadMonitor = client.uploadMonitor;
     }
 
     @Override
@@ -250,6 +303,27 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
         return target;
     }
 
+    @Override
+    public ReactiveCloudControllerClient getReactiveClient() {
+        return reactiveClient;
+    }
+
+    @Override
+    public CloudControllerRestClientImpl withTarget(CloudSpace target) {
+        return new CloudControllerRestClientImpl(this, target);
+    }
+
+    /**
+     * Releases the resources which were created together with this client by {@link CloudControllerRestClientFactory}, e.g. stops
+     * refreshing the token of its own OAuth client in the background. Does nothing for clients which were not created with such resources,
+     * including the views returned by {@link #withTarget(CloudSpace)}.
+     */
+    public void close() {
+        if (closeAction != null) {
+            closeAction.run();
+        }
+    }
+
     @Override
     public void addDomain(String domainName) {
         assertSpaceProvided("add domain");
@@ -310,6 +384,7 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
         CreateApplicationResponse createApplicationResponse = delegate.applicationsV3()
                                                                       .create(createApplicationRequest)
                                                                       .block();
+        cacheGuid(ResourceType.APPLICATION, createApplicationResponse.getName(), createApplicationResponse.getId());
         updateApplicationAttributes(applicationToCreateDto, createApplicationResponse.getId());
     }
 
@@ -385,7 +460,7 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
         if (staging.isSshEnabled() != null) {
             updateSsh(applicationGuid, staging.isSshEnabled());
         }
-        GetApplicationProcessResponse getApplicationProcessResponse = getApplicationProcessResource(applicationGuid);
+        GetApplicationProcessResponse getApplicationProcessResponse = getApplicationProcessResource(applicationGuid).block();
         UpdateProcessRequest.Builder updateProcessRequestBuilder = UpdateProcessRequest.builder()
                                                                                        .processId(getApplicationProcessResponse.getId())
                                                                                        .command(staging.getCommand());
@@ -407,13 +482,22 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                 .block();
     }
 
-    private GetApplicationProcessResponse getApplicationProcessResource(UUID applicationGuid) {
+    private Flux<ProcessResource> getWebProcessResourcesBySpaceGuid(UUID spaceGuid) {
+        IntFunction<ListProcessesRequest> pageRequestSupplier = page -> ListProcessesRequest.builder()
+                                                                                            .spaceId(spaceGuid.toString())
+                                                                                            .type("web")
+                                                                                            .page(page)
+                                                                                            .build();
+        return PaginationUtils.requestClientV3Resources(page -> delegate.processes()
+                                                                        .list(pageRequestSupplier.apply(page)));
+    }
+
+    private Mono<GetApplicationProcessResponse> getApplicationProcessResource(UUID applicationGuid) {
         return delegate.applicationsV3()
                        .getProcess(GetApplicationProcessRequest.builder()
                                                                .type("web")
                                                                .applicationId(applicationGuid.toString())
-                                                               .build())
-                       .block();
+                                                               .build());
     }
 
     private HealthCheck buildHealthCheck(Staging staging) {
@@ -574,6 +658,9 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                                                    getTargetSpaceGuid().toString()))
                                                                                                .build())
                                                     .build())
+                .flatMap(response -> Mono.justOrEmpty(response.getServiceInstance()))
+                .doOnNext(createdServiceInstance -> cacheGuid(ResourceType.SERVICE_INSTANCE, createdServiceInstance.getName(),
+                                                              createdServiceInstance.getId()))
                 .block();
     }
 
@@ -584,6 +671,7 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
     }
 
     private void deleteApplication(UUID applicationGuid) {
+        resourceGuidCache.remove(ResourceType.APPLICATION, applicationGuid);
         delegate.applicationsV3()
                 .delete(DeleteApplicationRequest.builder()
                                                 .applicationId(applicationGuid.toString())
@@ -667,29 +755,26 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public CloudApplication getApplication(String applicationName, boolean required) {
-        return findApplicationByName(applicationName, required);
+        return reactiveClient.getApplication(applicationName, required)
+                             .block();
     }
 
     @Override
     public UUID getApplicationGuid(String applicationName) {
-        return getRequiredApplicationGuid(applicationName);
+        return reactiveClient.getApplicationGuid(applicationName)
+                             .block();
     }
 
     @Override
     public String getApplicationName(UUID applicationGuid) {
-        // This will throw a CloudOperationException with a 404 if no app with given GUID is present
-        return getApplicationByGuid(applicationGuid).block()
-                                                    .getName();
+        return reactiveClient.getApplicationName(applicationGuid)
+                             .block();
     }
 
     @Override
     public Map<String, String> getApplicationEnvironment(UUID applicationGuid) {
-        return delegate.applicationsV3()
-                       .getEnvironmentVariables(GetApplicationEnvironmentVariablesRequest.builder()
-                                                                                         .applicationId(applicationGuid.toString())
-                                                                                         .build())
-                       .map(GetApplicationEnvironmentVariablesResponse::getVars)
-                       .block();
+        return reactiveClient.getApplicationEnvironment(applicationGuid)
+                             .block();
     }
 
     @Override
@@ -700,20 +785,23 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public List<CloudEvent> getApplicationEvents(String applicationName) {
-        UUID applicationGuid = getRequiredApplicationGuid(applicationName);
-        return getEventsByTarget(applicationGuid);
+        return reactiveClient.getApplicationEvents(applicationName)
+                             .collectList()
+                             .block();
     }
 
     @Override
     public List<CloudEvent> getEventsByTarget(UUID uuid) {
-        return findEventsByTarget(uuid.toString());
+        return reactiveClient.getEventsByTarget(uuid)
+                             .collectList()
+                             .block();
     }
 
     @Override
     public InstancesInfo getApplicationInstances(CloudApplication application) {
         if (application.getState()
                        .equals(CloudApplication.State.STARTED)) {
-            return findApplicationInstances(getGuid(application));
+            return getApplicationInstances(getGuid(application));
         }
         return ImmutableInstancesInfo.builder()
                                      .instances(Collections.emptyList())
@@ -722,50 +810,41 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public InstancesInfo getApplicationInstances(UUID applicationGuid) {
-        return findApplicationInstances(applicationGuid);
+        return reactiveClient.getApplicationInstances(applicationGuid)
+                             .block();
     }
 
     @Override
     public CloudProcess getApplicationProcess(UUID applicationGuid) {
-        return fetch(() -> Mono.just(getApplicationProcessResource(applicationGuid)), ImmutableRawCloudProcess::of);
+        return reactiveClient.getApplicationProcess(applicationGuid)
+                             .block();
     }
 
     @Override
     public List<CloudRoute> getApplicationRoutes(UUID applicationGuid) {
-        return fetchList(() -> getRouteResourcesByAppGuid(applicationGuid), routeResource -> ImmutableRawCloudRoute.builder()
-                                                                                                                   .route(routeResource)
-                                                                                                                   .applicationGuid(
-                                                                                                                       applicationGuid)
-                                                                                                                   .build());
+        return reactiveClient.getApplicationRoutes(applicationGuid)
+                             .collectList()
+                             .block();
     }
 
     @Override
     public boolean getApplicationSshEnabled(UUID applicationGuid) {
-        return delegate.applicationsV3()
-                       .getSshEnabled(GetApplicationSshEnabledRequest.builder()
-                                                                     .applicationId(applicationGuid.toString())
-                                                                     .build())
-                       .map(GetApplicationSshEnabledResponse::getEnabled)
-                       .defaultIfEmpty(false)
-                       .block();
+        return reactiveClient.getApplicationSshEnabled(applicationGuid)
+                             .block();
     }
 
     @Override
     public List<CloudApplication> getApplications() {
-        return fetchList(this::getApplicationResources, application -> ImmutableRawCloudApplication.builder()
-                                                                                                   .application(application)
-                                                                                                   .space(target)
-                                                                                                   .build());
+        return reactiveClient.getApplications()
+                             .collectList()
+                             .block();
     }
 
     @Override
     public List<CloudApplication> getApplicationsByMetadataLabelSelector(String labelSelector) {
-        assertSpaceProvided("get applications");
-        return fetchList(() -> getApplicationsByLabelSelector(labelSelector), application -> ImmutableRawCloudApplication.builder()
-                                                                                                                         .application(
-                                                                                                                             application)
-                                                                                                                         .space(target)
-                                                                                                                         .build());
+        return reactiveClient.getApplicationsByMetadataLabelSelector(labelSelector)
+                             .collectList()
+                             .block();
     }
 
     private Flux<? extends Application> getApplicationsByLabelSelector(String labelSelector) {
@@ -774,13 +853,13 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                                                   .labelSelector(labelSelector)
                                                                                                   .page(page)
                                                                                                   .build();
-        return PaginationUtils.requestClientV3Resources(page -> delegate.applicationsV3()
-                                                                        .list(pageRequestSupplier.apply(page)));
+        return getApplicationResources(pageRequestSupplier);
     }
 
     @Override
     public CloudDomain getDefaultDomain() {
-        return fetch(() -> getDefaultDomainResource(getTargetOrganizationGuid().toString()), ImmutableRawCloudDomain::of);
+        return reactiveClient.getDefaultDomain()
+                             .block();
     }
 
     private Mono<? extends Domain> getDefaultDomainResource(String guid) {
@@ -792,12 +871,22 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public List<CloudDomain> getSharedDomains() {
-        return fetchList(this::getSharedDomainResources, ImmutableRawCloudDomain::of);
+        return reactiveClient.getSharedDomains()
+                             .collectList()
+                             .block();
+    }
+
+    @Override
+    public SpaceSnapshot getSpaceSnapshot() {
+        return reactiveClient.getSpaceSnapshot()
+                             .block();
     }
 
     @Override
     public List<CloudDomain> getDomains() {
-        return fetchList(this::getDomainResources, ImmutableRawCloudDomain::of);
+        return reactiveClient.getDomains()
+                             .collectList()
+                             .block();
     }
 
     @Override
@@ -808,12 +897,16 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public List<CloudDomain> getPrivateDomains() {
-        return fetchList(this::getPrivateDomainResources, ImmutableRawCloudDomain::of);
+        return reactiveClient.getPrivateDomains()
+                             .collectList()
+                             .block();
     }
 
     @Override
     public List<CloudEvent> getEvents() {
-        return fetchList(this::getEventResources, ImmutableRawCloudEvent::of);
+        return reactiveClient.getEvents()
+                             .collectList()
+                             .block();
     }
 
     @Override
@@ -825,11 +918,8 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public UUID getRequiredServiceInstanceGuid(String name) {
-        Resource serviceInstanceResource = getServiceInstanceByName(name).block();
-        if (serviceInstanceResource == null) {
-            throw new CloudOperationException(HttpStatus.NOT_FOUND, "Not Found", "Service instance " + name + " not found.");
-        }
-        return UUID.fromString(serviceInstanceResource.getId());
+        return reactiveClient.getRequiredServiceInstanceGuid(name)
+                             .block();
     }
 
     @Override
@@ -839,23 +929,14 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public CloudServiceInstance getServiceInstance(String serviceInstanceName, boolean required) {
-        CloudServiceInstance serviceInstance = findServiceInstanceByName(serviceInstanceName);
-        return getServiceInstanceIfRequired(serviceInstanceName, serviceInstance, required);
-    }
-
-    private CloudServiceInstance getServiceInstanceIfRequired(String serviceInstanceName, CloudServiceInstance serviceInstance,
-                                                              boolean required) {
-        if (serviceInstance == null && required) {
-            throw new CloudOperationException(HttpStatus.NOT_FOUND, "Not Found", "Service instance " + serviceInstanceName + " not found.");
-        }
-        return serviceInstance;
+        return reactiveClient.getServiceInstance(serviceInstanceName, required)
+                             .block();
     }
 
     @Override
     public CloudServiceBinding getServiceBinding(UUID serviceBindingGuid) {
-        // TODO: Refactor and use serviceBindingsV3.get() when https://github.com/cloudfoundry/cf-java-client/pull/1171 is merged and
-        // released
-        return fetch(() -> getServiceBindingResource(serviceBindingGuid), ImmutableRawCloudServiceBinding::of);
+        return reactiveClient.getServiceBinding(serviceBindingGuid)
+                             .block();
     }
 
     private Mono<ServiceBindingResource> getServiceBindingResource(UUID serviceBindingGuid) {
@@ -870,18 +951,22 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public List<CloudServiceBinding> getServiceAppBindings(UUID serviceInstanceGuid) {
-        return fetchList(() -> getServiceBindingResourcesByServiceInstanceGuid(serviceInstanceGuid), ImmutableRawCloudServiceBinding::of);
+        return reactiveClient.getServiceAppBindings(serviceInstanceGuid)
+                             .collectList()
+                             .block();
     }
 
     @Override
     public List<CloudServiceBinding> getAppBindings(UUID applicationGuid) {
-        return fetchList(() -> getServiceBindingResourcesByApplicationGuid(applicationGuid), ImmutableRawCloudServiceBinding::of);
+        return reactiveClient.getAppBindings(applicationGuid)
+                             .collectList()
+                             .block();
     }
 
     @Override
     public CloudServiceBinding getServiceBindingForApplication(UUID applicationId, UUID serviceInstanceGuid) {
-        return fetch(() -> getServiceBindingResourceByApplicationGuidAndServiceInstanceGuid(applicationId, serviceInstanceGuid),
-                     ImmutableRawCloudServiceBinding::of);
+        return reactiveClient.getServiceBindingForApplication(applicationId, serviceInstanceGuid)
+                             .block();
     }
 
     @Override
@@ -900,7 +985,9 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public List<CloudServiceBroker> getServiceBrokers() {
-        return fetchList(this::getServiceBrokerResources, ImmutableRawCloudServiceBroker::of);
+        return reactiveClient.getServiceBrokers()
+                             .collectList()
+                             .block();
     }
 
     @Override
@@ -924,18 +1011,16 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public List<CloudServiceKey> getServiceKeys(CloudServiceInstance serviceInstance) {
-        return fetchList(() -> getServiceKeyResource(serviceInstance), serviceKey -> ImmutableRawCloudServiceKey.builder()
-                                                                                                                .serviceInstance(
-                                                                                                                    serviceInstance)
-                                                                                                                .serviceBindingResource(
-                                                                                                                    serviceKey)
-                                                                                                                .build());
+        return reactiveClient.getServiceKeys(serviceInstance)
+                             .collectList()
+                             .block();
     }
 
     @Override
     public List<CloudServiceKey> getServiceKeysWithCredentials(CloudServiceInstance serviceInstance) {
-        return fetchListWithAuxiliaryContent(() -> getServiceKeyResource(serviceInstance),
-                                             serviceKey -> zipWithAuxiliaryServiceKeyContent(serviceKey, serviceInstance));
+        return reactiveClient.getServiceKeysWithCredentials(serviceInstance)
+                             .collectList()
+                             .block();
     }
 
     private Mono<Derivable<CloudServiceKey>> zipWithAuxiliaryServiceKeyContent(ServiceBindingResource key,
@@ -993,7 +1078,9 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public List<CloudServiceOffering> getServiceOfferings() {
-        return fetchListWithAuxiliaryContent(this::getServiceResources, this::zipWithAuxiliaryServiceOfferingContent);
+        return reactiveClient.getServiceOfferings()
+                             .collectList()
+                             .block();
     }
 
     @Override
@@ -1028,9 +1115,8 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public CloudServiceInstance getServiceInstanceWithoutAuxiliaryContent(String serviceInstanceName, boolean required) {
-        CloudServiceInstance serviceInstance = fetch(() -> getServiceInstanceResourceByName(serviceInstanceName),
-                                                     ImmutableRawCloudServiceInstance::of);
-        return getServiceInstanceIfRequired(serviceInstanceName, serviceInstance, required);
+        return reactiveClient.getServiceInstanceWithoutAuxiliaryContent(serviceInstanceName, required)
+                             .block();
     }
 
     @Override
@@ -1108,8 +1194,7 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                                                               serviceInstanceNames)
                                                                                                           .page(page)
                                                                                                           .build();
-        return PaginationUtils.requestClientV3Resources(page -> delegate.serviceInstancesV3()
-                                                                        .list(pageRequestSupplier.apply(page)));
+        return getServiceInstanceResources(pageRequestSupplier);
     }
 
     @Override
@@ -1125,27 +1210,16 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public List<CloudServiceInstance> getServiceInstancesByMetadataLabelSelector(String labelSelector) {
-        IntFunction<ListServiceInstancesRequest> pageRequestSupplier = page -> ListServiceInstancesRequest.builder()
-                                                                                                          .labelSelector(labelSelector)
-                                                                                                          .spaceId(
-                                                                                                              getTargetSpaceGuid().toString())
-                                                                                                          .page(page)
-                                                                                                          .build();
-
-        return fetchListWithAuxiliaryContent(() -> getServiceInstanceResources(pageRequestSupplier),
-                                             this::zipWithAuxiliaryServiceInstanceContent);
+        return reactiveClient.getServiceInstancesByMetadataLabelSelector(labelSelector)
+                             .collectList()
+                             .block();
     }
 
     @Override
     public List<CloudServiceInstance> getServiceInstancesWithoutAuxiliaryContentByMetadataLabelSelector(String labelSelector) {
-        IntFunction<ListServiceInstancesRequest> pageRequestSupplier = page -> ListServiceInstancesRequest.builder()
-                                                                                                          .labelSelector(labelSelector)
-                                                                                                          .spaceId(
-                                                                                                              getTargetSpaceGuid().toString())
-                                                                                                          .page(page)
-                                                                                                          .build();
-
-        return fetchList(() -> getServiceInstanceResources(pageRequestSupplier), ImmutableRawCloudServiceInstance::of);
+        return reactiveClient.getServiceInstancesWithoutAuxiliaryContentByMetadataLabelSelector(labelSelector)
+                             .collectList()
+                             .block();
     }
 
     @Override
@@ -1164,12 +1238,15 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public List<CloudStack> getStacks() {
-        return fetchList(this::getStackResources, ImmutableRawCloudStack::of);
+        return reactiveClient.getStacks()
+                             .collectList()
+                             .block();
     }
 
     @Override
     public void rename(String applicationName, String newName) {
         UUID applicationGuid = getRequiredApplicationGuid(applicationName);
+        resourceGuidCache.remove(ResourceType.APPLICATION, applicationGuid);
         delegate.applicationsV3()
                 .update(UpdateApplicationRequest.builder()
                                                 .applicationId(applicationGuid.toString())
@@ -1178,6 +1255,7 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                 .onErrorResume(t -> doesErrorMatchStatusCode(t, HttpStatus.SERVICE_UNAVAILABLE),
                                exception -> fallbackApplicationRename(newName, applicationGuid, exception))
                 .block();
+        cacheGuid(ResourceType.APPLICATION, newName, applicationGuid.toString());
     }
 
     private Mono<? extends UpdateApplicationResponse> fallbackApplicationRename(String newName, UUID applicationGuid, Throwable exception) {
@@ -1197,30 +1275,14 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public void startApplication(String applicationName) {
-        Application application = getApplicationByName(applicationName).block();
-        if (application.getState() == ApplicationState.STARTED) {
-            return;
-        }
-        UUID applicationGuid = UUID.fromString(application.getId());
-        delegate.applicationsV3()
-                .start(StartApplicationRequest.builder()
-                                              .applicationId(applicationGuid.toString())
-                                              .build())
-                .block();
+        reactiveClient.startApplication(applicationName)
+                      .block();
     }
 
     @Override
     public void stopApplication(String applicationName) {
-        Application application = getApplicationByName(applicationName).block();
-        if (application.getState() == ApplicationState.STOPPED) {
-            return;
-        }
-        UUID applicationGuid = UUID.fromString(application.getId());
-        delegate.applicationsV3()
-                .stop(StopApplicationRequest.builder()
-                                            .applicationId(applicationGuid.toString())
-                                            .build())
-                .block();
+        reactiveClient.stopApplication(applicationName)
+                      .block();
     }
 
     @Override
@@ -1256,12 +1318,8 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
     @Override
     public void updateApplicationEnv(String applicationName, Map<String, String> env) {
         UUID applicationGuid = getRequiredApplicationGuid(applicationName);
-        delegate.applicationsV3()
-                .updateEnvironmentVariables(UpdateApplicationEnvironmentVariablesRequest.builder()
-                                                                                        .applicationId(applicationGuid.toString())
-                                                                                        .vars(env)
-                                                                                        .build())
-                .block();
+        reactiveClient.updateApplicationEnv(applicationGuid, env)
+                      .block();
     }
 
     @Override
@@ -1418,7 +1476,8 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public CloudTask getTask(UUID taskGuid) {
-        return fetch(() -> getTaskResource(taskGuid), ImmutableRawCloudTask::of);
+        return reactiveClient.getTask(taskGuid)
+                             .block();
     }
 
     @Override
@@ -1440,39 +1499,47 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public CloudPackage asyncUploadApplication(String applicationName, Path file, UploadStatusCallback callback, Duration uploadTimeout) {
-        CloudPackage cloudPackage = startUpload(applicationName, file, uploadTimeout);
-        processAsyncUploadInBackground(cloudPackage, callback);
+        return asyncUploadApplication(applicationName, file, callback, uploadTimeout, false);
+    }
+
+    @Override
+    public CloudPackage asyncUploadApplication(String applicationName, Path file, UploadStatusCallback callback, Duration uploadTimeout,
+                                               boolean matchResources) {
+        CloudPackage cloudPackage = startUpload(applicationName, file, callback, uploadTimeout, matchResources);
+        uploadMonitor.monitor(cloudPackage.getGuid(), callback);
         return cloudPackage;
     }
 
     @Override
     public Upload getUploadStatus(UUID packageGuid) {
-        CloudPackage cloudPackage = getPackage(packageGuid);
-        ErrorDetails errorDetails = null;
-        if (cloudPackage.getType() == CloudPackage.Type.BITS) {
-            errorDetails = ImmutableErrorDetails.builder()
-                                                .description(((BitsData) cloudPackage.getData()).getError())
-                                                .build();
-        }
-        return ImmutableUpload.builder()
-                              .status(cloudPackage.getStatus())
-                              .errorDetails(errorDetails)
-                              .build();
+        return reactiveClient.getUploadStatus(packageGuid)
+                             .block();
+    }
+
+    @Override
+    public Map<UUID, Upload> getUploadStatuses(Collection<UUID> packageGuids) {
+        return reactiveClient.getUploadStatuses(packageGuids)
+                             .block();
     }
 
     @Override
     public CloudBuild getBuild(UUID buildGuid) {
-        return fetch(() -> getBuildResource(buildGuid), ImmutableRawCloudBuild::of);
+        return reactiveClient.getBuild(buildGuid)
+                             .block();
     }
 
     @Override
     public List<CloudBuild> getBuildsForApplication(UUID applicationGuid) {
-        return fetchList(() -> getBuildResourcesByApplicationGuid(applicationGuid), ImmutableRawCloudBuild::of);
+        return reactiveClient.getBuildsForApplication(applicationGuid)
+                             .collectList()
+                             .block();
     }
 
     @Override
     public List<CloudBuild> getBuildsForPackage(UUID packageGuid) {
-        return fetchList(() -> getBuildResourcesByPackageGuid(packageGuid), ImmutableRawCloudBuild::of);
+        return reactiveClient.getBuildsForPackage(packageGuid)
+                             .collectList()
+                             .block();
     }
 
     @Override
@@ -1524,7 +1591,9 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
 
     @Override
     public List<CloudPackage> getPackagesForApplication(UUID applicationGuid) {
-        return fetchList(() -> getPackages(applicationGuid.toString()), ImmutableRawCloudPackage::of);
+        return reactiveClient.getPackagesForApplication(applicationGuid)
+                             .collectList()
+                             .block();
     }
 
     private Flux<? extends PackageResource> getPackages(String applicationGuid) {
@@ -1594,29 +1663,13 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                         .list(pageRequestSupplier.apply(page)));
     }
 
-    private CloudApplication findApplicationByName(String name, boolean required) {
-        CloudApplication application = findApplicationByName(name);
-        if (application == null && required) {
-            throw new CloudOperationException(HttpStatus.NOT_FOUND, "Not Found", "Application " + name + " not found.");
-        }
-        return application;
-    }
-
-    private CloudApplication findApplicationByName(String name) {
-        return fetch(() -> getApplicationByName(name), application -> ImmutableRawCloudApplication.builder()
-                                                                                                  .application(application)
-                                                                                                  .space(target)
-                                                                                                  .build());
-    }
-
     private Flux<? extends Application> getApplicationResources() {
         assertSpaceProvided("get application");
         IntFunction<ListApplicationsRequest> pageRequestSupplier = page -> ListApplicationsRequest.builder()
                                                                                                   .spaceId(getTargetSpaceGuid().toString())
                                                                                                   .page(page)
                                                                                                   .build();
-        return PaginationUtils.requestClientV3Resources(page -> delegate.applicationsV3()
-                                                                        .list(pageRequestSupplier.apply(page)));
+        return getApplicationResources(pageRequestSupplier);
     }
 
     private Mono<? extends Application> getApplicationByGuid(UUID guid) {
@@ -1633,13 +1686,13 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                                                   .name(name)
                                                                                                   .page(page)
                                                                                                   .build();
-        return PaginationUtils.requestClientV3Resources(page -> delegate.applicationsV3()
-                                                                        .list(pageRequestSupplier.apply(page)))
-                              .singleOrEmpty();
+        return getApplicationResources(pageRequestSupplier).singleOrEmpty();
     }
 
-    private CloudServiceInstance findServiceInstanceByName(String name) {
-        return fetchWithAuxiliaryContent(() -> getServiceInstanceResourceByName(name), this::zipWithAuxiliaryServiceInstanceContent);
+    private Flux<? extends Application> getApplicationResources(IntFunction<ListApplicationsRequest> pageRequestSupplier) {
+        return PaginationUtils.requestClientV3Resources(page -> delegate.applicationsV3()
+                                                                        .list(pageRequestSupplier.apply(page)))
+                              .doOnNext(application -> cacheGuid(ResourceType.APPLICATION, application.getName(), application.getId()));
     }
 
     private Mono<? extends ServiceInstance> getServiceInstanceByGuid(UUID serviceInstanceGuid) {
@@ -1659,26 +1712,117 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
         return getServiceInstanceResources(pageRequestSupplier).singleOrEmpty();
     }
 
+    private Flux<ServiceInstanceResource> getServiceInstanceResourcesByLabelSelector(String labelSelector) {
+        IntFunction<ListServiceInstancesRequest> pageRequestSupplier = page -> ListServiceInstancesRequest.builder()
+                                                                                                          .labelSelector(labelSelector)
+                                                                                                          .spaceId(
+                                                                                                              getTargetSpaceGuid().toString())
+                                                                                                          .page(page)
+                                                                                                          .build();
+        return getServiceInstanceResources(pageRequestSupplier);
+    }
+
     private Flux<ServiceInstanceResource> getServiceInstanceResources(IntFunction<ListServiceInstancesRequest> pageRequestSupplier) {
         return PaginationUtils.requestClientV3Resources(page -> delegate.serviceInstancesV3()
+                                                                        .list(pageRequestSupplier.apply(page)))
+                              .doOnNext(serviceInstance -> cacheGuid(ResourceType.SERVICE_INSTANCE, serviceInstance.getName(),
+                                                                     serviceInstance.getId()));
+    }
+
+    /**
+     * Resolves the plans and offerings of all listed service instances with as few requests as possible: plans are listed in batches by
+     * service instance GUIDs and each distinct offering is fetched once. Instances whose plan or offering could not be resolved this way
+     * fall back to the per-instance lookup, so that the usual errors are reported for them.
+     */
+    private Flux<CloudServiceInstance> fetchServiceInstancesWithAuxiliaryContent(Supplier<Flux<ServiceInstanceResource>> resourceSupplier) {
+        return resourceSupplier.get()
+                               .collectList()
+                               .flatMapMany(this::zipWithAuxiliaryServiceInstancesContent)
+                               .map(Derivable::derive);
+    }
+
+    private Flux<Derivable<CloudServiceInstance>> zipWithAuxiliaryServiceInstancesContent(List<ServiceInstanceResource> serviceInstanceResources) {
+        List<String> managedServiceInstanceGuids = serviceInstanceResources.stream()
+                                                                           .filter(serviceInstanceResource -> !isUserProvided(
+                                                                               serviceInstanceResource))
+                                                                           .map(Resource::getId)
+                                                                           .collect(Collectors.toList());
+        Mono<Map<String, ServicePlan>> servicePlans = getServicePlanResourcesByServiceInstanceGuidsInBatches(
+            managedServiceInstanceGuids).collectMap(Resource::getId, ServicePlan.class::cast);
+        return servicePlans.zipWhen(this::getServiceOfferingsForPlans)
+                           .flatMapMany(tuple -> Flux.fromIterable(serviceInstanceResources)
+                                                     .flatMapSequential(serviceInstanceResource -> zipWithAuxiliaryServiceInstanceContent(
+                                                         serviceInstanceResource, tuple.getT1(), tuple.getT2())));
+    }
+
+    private Mono<Derivable<CloudServiceInstance>> zipWithAuxiliaryServiceInstanceContent(ServiceInstanceResource serviceInstanceResource,
+                                                                                        Map<String, ServicePlan> servicePlans,
+                                                                                        Map<String, ServiceOffering> serviceOfferings) {
+        if (isUserProvided(serviceInstanceResource)) {
+            return Mono.just(ImmutableRawCloudServiceInstance.of(serviceInstanceResource));
+        }
+        ServicePlan servicePlan = servicePlans.get(getServicePlanGuid(serviceInstanceResource));
+        ServiceOffering serviceOffering = servicePlan == null ? null : serviceOfferings.get(getServiceOfferingGuid(servicePlan));
+        if (serviceOffering == null) {
+            return zipWithAuxiliaryServiceInstanceContent(serviceInstanceResource);
+        }
+        return Mono.just(ImmutableRawCloudServiceInstance.builder()
+                                                         .resource(serviceInstanceResource)
+                                                         .servicePlan(servicePlan)
+                                                         .serviceOffering(serviceOffering)
+                                                         .build());
+    }
+
+    private Mono<Map<String, ServiceOffering>> getServiceOfferingsForPlans(Map<String, ServicePlan> servicePlans) {
+        return Flux.fromIterable(servicePlans.values())
+                   .map(this::getServiceOfferingGuid)
+                   .distinct()
+                   .flatMap(serviceOfferingGuid -> getServiceOffering(serviceOfferingGuid).map(
+                       serviceOffering -> Map.entry(serviceOfferingGuid, (ServiceOffering) serviceOffering)))
+                   .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Flux<? extends ServicePlanResource> getServicePlanResourcesByServiceInstanceGuidsInBatches(List<String> serviceInstanceGuids) {
+        return Flux.fromIterable(toBatches(serviceInstanceGuids, MAX_CHAR_LENGTH_FOR_PARAMS_IN_REQUEST))
+                   .flatMap(this::getServicePlanResourcesByServiceInstanceGuids);
+    }
+
+    private Flux<? extends ServicePlanResource> getServicePlanResourcesByServiceInstanceGuids(List<String> serviceInstanceGuids) {
+        if (serviceInstanceGuids.isEmpty()) {
+            return Flux.empty();
+        }
+        IntFunction<ListServicePlansRequest> pageRequestSupplier = page -> ListServicePlansRequest.builder()
+                                                                                                  .serviceInstanceIds(serviceInstanceGuids)
+                                                                                                  .page(page)
+                                                                                                  .build();
+        return PaginationUtils.requestClientV3Resources(page -> delegate.servicePlansV3()
                                                                         .list(pageRequestSupplier.apply(page)));
     }
 
+    private String getServicePlanGuid(ServiceInstanceResource serviceInstanceResource) {
+        return serviceInstanceResource.getRelationships()
+                                      .getServicePlan()
+                                      .getData()
+                                      .getId();
+    }
+
+    private String getServiceOfferingGuid(ServicePlan servicePlan) {
+        return servicePlan.getRelationships()
+                          .getServiceOffering()
+                          .getData()
+                          .getId();
+    }
+
     private Mono<Derivable<CloudServiceInstance>> zipWithAuxiliaryServiceInstanceContent(ServiceInstanceResource serviceInstanceResource) {
         if (isUserProvided(serviceInstanceResource)) {
             return Mono.just(ImmutableRawCloudServiceInstance.of(serviceInstanceResource));
         }
-        String servicePlanGuid = serviceInstanceResource.getRelationships()
-                                                        .getServicePlan()
-                                                        .getData()
-                                                        .getId();
+        String servicePlanGuid = getServicePlanGuid(serviceInstanceResource);
 
         return getServicePlanResource(servicePlanGuid,
                                       serviceInstanceResource.getName()).zipWhen(
-                                                                            servicePlan -> getServiceOffering(servicePlan.getRelationships()
-                                                                                                                         .getServiceOffering()
-                                                                                                                         .getData()
-                                                                                                                         .getId()))
+                                                                            servicePlan -> getServiceOffering(getServiceOfferingGuid(
+                                                                                servicePlan)))
                                                                         .map(tuple -> ImmutableRawCloudServiceInstance.builder()
                                                                                                                       .resource(
                                                                                                                           serviceInstanceResource)
@@ -1717,6 +1861,19 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
         return getApplicationServiceBindingResources(pageRequestSupplier).singleOrEmpty();
     }
 
+    private Flux<? extends ServiceBindingResource> getServiceBindingResourcesByApplicationGuidsInBatches(List<String> applicationGuids) {
+        return Flux.fromIterable(toBatches(applicationGuids, MAX_CHAR_LENGTH_FOR_PARAMS_IN_REQUEST))
+                   .flatMap(this::getServiceBindingResourcesByApplicationGuids);
+    }
+
+    private Flux<? extends ServiceBindingResource> getServiceBindingResourcesByApplicationGuids(List<String> applicationGuids) {
+        IntFunction<ListServiceBindingsRequest> pageRequestSupplier = page -> ListServiceBindingsRequest.builder()
+                                                                                                        .applicationIds(applicationGuids)
+                                                                                                        .page(page)
+                                                                                                        .build();
+        return getApplicationServiceBindingResources(pageRequestSupplier);
+    }
+
     private Flux<? extends ServiceBindingResource> getServiceBindingResourcesByApplicationGuid(UUID applicationGuid) {
         IntFunction<ListServiceBindingsRequest> pageRequestSupplier = page -> ListServiceBindingsRequest.builder()
                                                                                                         .applicationId(
@@ -1800,22 +1957,56 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                        .cancel(request);
     }
 
-    private CloudPackage startUpload(String applicationName, Path file, Duration uploadTimeout) {
+    private CloudPackage startUpload(String applicationName, Path file, UploadStatusCallback callback, Duration uploadTimeout,
+                                     boolean matchResources) {
         Assert.notNull(applicationName, "AppName must not be null");
         Assert.notNull(file, "File must not be null");
 
         UUID applicationGuid = getRequiredApplicationGuid(applicationName);
         UUID packageGuid = getGuid(createPackageForApplication(applicationGuid));
 
+        if (matchResources) {
+            uploadUnmatchedBits(applicationGuid, packageGuid, file, callback, uploadTimeout);
+        } else {
+            uploadBits(packageGuid, file, Collections.emptyList(), callback, uploadTimeout);
+        }
+
+        return getPackage(packageGuid);
+    }
+
+    private void uploadUnmatchedBits(UUID applicationGuid, UUID packageGuid, Path file, UploadStatusCallback callback,
+                                     Duration uploadTimeout) {
+        Fingerprints fingerprints = fingerprintIndex.load(applicationGuid);
+        try (MatchedArchive matchedArchive = new ResourceMatcher(delegate, fingerprints).match(file)) {
+            fingerprints.save();
+            callback.onCheckResources();
+            callback.onMatchedFileNames(matchedArchive.getMatchedFileNames());
+            callback.onProcessMatchedResources((int) Math.min(matchedArchive.getUnmatchedSize(), Integer.MAX_VALUE));
+            uploadBits(packageGuid, matchedArchive.getBits(), matchedArchive.getMatchedResources(), callback, uploadTimeout);
+        } catch (IOException e) {
+            throw new CloudException(e.getMessage(), e);
+        }
+    }
+
+    private void uploadBits(UUID packageGuid, Path bits, List<MatchedResource> matchedResources, UploadStatusCallback callback,
+                            Duration uploadTimeout) {
+        if (streamingBitsUploader != null) {
+            FileDigests digests = streamingBitsUploader.upload(packageGuid, bits, matchedResources, callback)
+                                                       .timeout(uploadTimeout)
+                                                       .block();
+            callback.onBitsUploaded(digests);
+            return;
+        }
+        UploadPackageRequest.Builder requestBuilder = UploadPackageRequest.builder()
+                                                                          .bits(bits)
+                                                                          .packageId(packageGuid.toString());
+        if (!matchedResources.isEmpty()) {
+            requestBuilder.resources(matchedResources);
+        }
         delegate.packages()
-                .upload(UploadPackageRequest.builder()
-                                            .bits(file)
-                                            .packageId(packageGuid.toString())
-                                            .build())
+                .upload(requestBuilder.build())
                 .timeout(uploadTimeout)
                 .block();
-
-        return getPackage(packageGuid);
     }
 
     private CloudPackage createPackageForApplication(UUID applicationGuid) {
@@ -1976,10 +2167,12 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                                  buildToOneRelationship(getTargetOrganizationGuid()))
                                                                              .build())
                                            .build())
+                .doOnNext(domain -> cacheGuid(ResourceType.DOMAIN, domain.getName(), domain.getId()))
                 .block();
     }
 
     private void doDeleteDomain(UUID guid) {
+        resourceGuidCache.remove(ResourceType.DOMAIN, guid);
         delegate.domainsV3()
                 .delete(DeleteDomainRequest.builder()
                                            .domainId(guid.toString())
@@ -1998,6 +2191,7 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
     }
 
     private void doDeleteServiceInstance(UUID serviceInstanceGuid) {
+        resourceGuidCache.remove(ResourceType.SERVICE_INSTANCE, serviceInstanceGuid);
         delegate.serviceInstancesV3()
                 .delete(DeleteServiceInstanceRequest.builder()
                                                     .serviceInstanceId(serviceInstanceGuid.toString())
@@ -2046,17 +2240,20 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                                         .name(name)
                                                                                         .page(page)
                                                                                         .build();
-        return PaginationUtils.requestClientV3Resources(page -> delegate.domainsV3()
-                                                                        .list(pageRequestSupplier.apply(page)))
-                              .singleOrEmpty();
+        return getDomainResources(pageRequestSupplier).singleOrEmpty();
     }
 
     private Flux<DomainResource> getDomainResources() {
         IntFunction<ListDomainsRequest> pageRequestSupplier = page -> ListDomainsRequest.builder()
                                                                                         .page(page)
                                                                                         .build();
+        return getDomainResources(pageRequestSupplier);
+    }
+
+    private Flux<DomainResource> getDomainResources(IntFunction<ListDomainsRequest> pageRequestSupplier) {
         return PaginationUtils.requestClientV3Resources(page -> delegate.domainsV3()
-                                                                        .list(pageRequestSupplier.apply(page)));
+                                                                        .list(pageRequestSupplier.apply(page)))
+                              .doOnNext(domain -> cacheGuid(ResourceType.DOMAIN, domain.getName(), domain.getId()));
     }
 
     private Flux<DomainResource> getSharedDomainResources() {
@@ -2094,8 +2291,7 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                                         .names(names)
                                                                                         .page(page)
                                                                                         .build();
-        return PaginationUtils.requestClientV3Resources(page -> delegate.domainsV3()
-                                                                        .list(pageRequestSupplier.apply(page)));
+        return getDomainResources(pageRequestSupplier);
     }
 
     private List<CloudRoute> findRoutes(CloudDomain domain) {
@@ -2103,6 +2299,15 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                          ImmutableRawCloudRoute::of);
     }
 
+    private Flux<RouteResource> getRouteResourcesBySpaceGuid(UUID spaceGuid) {
+        IntFunction<ListRoutesRequest> pageRequestSupplier = page -> ListRoutesRequest.builder()
+                                                                                      .spaceId(spaceGuid.toString())
+                                                                                      .page(page)
+                                                                                      .build();
+        return PaginationUtils.requestClientV3Resources(page -> delegate.routesV3()
+                                                                        .list(pageRequestSupplier.apply(page)));
+    }
+
     private Flux<RouteResource> getRouteResourcesByDomainGuidAndSpaceGuid(UUID domainGuid, UUID spaceGuid) {
         IntFunction<ListRoutesRequest> pageRequestSupplier = page -> ListRoutesRequest.builder()
                                                                                       .domainId(domainGuid.toString())
@@ -2321,10 +2526,6 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                         .list(requestForPage.apply(page)));
     }
 
-    private List<CloudEvent> findEventsByTarget(String target) {
-        return fetchList(() -> getEventResourcesByTarget(target), ImmutableRawCloudEvent::of);
-    }
-
     private Flux<AuditEventResource> getEventResources() {
         IntFunction<ListAuditEventsRequest> pageRequestSupplier = page -> ListAuditEventsRequest.builder()
                                                                                                 .page(page)
@@ -2342,10 +2543,6 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                         .list(pageRequestSupplier.apply(page)));
     }
 
-    private InstancesInfo findApplicationInstances(UUID applicationGuid) {
-        return fetch(() -> getApplicationProcessStatsResource(applicationGuid), ImmutableRawInstancesInfo::of);
-    }
-
     private Mono<GetApplicationProcessStatisticsResponse> getApplicationProcessStatsResource(UUID applicationGuid) {
         return delegate.applicationsV3()
                        .getProcessStatistics(GetApplicationProcessStatisticsRequest.builder()
@@ -2398,11 +2595,33 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
     }
 
     private UUID getRequiredApplicationGuid(String name) {
-        Resource applicationResource = getApplicationByName(name).block();
-        if (applicationResource == null) {
-            throw new CloudOperationException(HttpStatus.NOT_FOUND, "Not Found", "Application " + name + " not found.");
-        }
-        return UUID.fromString(applicationResource.getId());
+        return resolveApplicationGuid(name).block();
+    }
+
+    private Mono<UUID> resolveApplicationGuid(String name) {
+        return Mono.defer(() -> {
+            UUID cachedGuid = resourceGuidCache.get(ResourceType.APPLICATION, getTargetSpaceGuid(), name);
+            if (cachedGuid != null) {
+                return Mono.just(cachedGuid);
+            }
+            return getApplicationByName(name).map(this::getGuid)
+                                             .switchIfEmpty(notFound("Application " + name + " not found."));
+        });
+    }
+
+    private Mono<UUID> resolveServiceInstanceGuid(String name) {
+        return Mono.defer(() -> {
+            UUID cachedGuid = resourceGuidCache.get(ResourceType.SERVICE_INSTANCE, getTargetSpaceGuid(), name);
+            if (cachedGuid != null) {
+                return Mono.just(cachedGuid);
+            }
+            return getServiceInstanceByName(name).map(this::getGuid)
+                                                 .switchIfEmpty(notFound("Service instance " + name + " not found."));
+        });
+    }
+
+    private <T> Mono<T> notFound(String description) {
+        return Mono.error(() -> new CloudOperationException(HttpStatus.NOT_FOUND, "Not Found", description));
     }
 
     private Mono<ServiceInstanceResource> getServiceInstanceByName(String name) {
@@ -2412,12 +2631,14 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                                                           .serviceInstanceName(name)
                                                                                                           .page(page)
                                                                                                           .build();
-        return PaginationUtils.requestClientV3Resources(page -> delegate.serviceInstancesV3()
-                                                                        .list(pageRequestSupplier.apply(page)))
-                              .singleOrEmpty();
+        return getServiceInstanceResources(pageRequestSupplier).singleOrEmpty();
     }
 
     private UUID getRequiredDomainGuid(String name) {
+        UUID cachedGuid = resourceGuidCache.get(ResourceType.DOMAIN, getCacheScopeGuid(ResourceType.DOMAIN), name);
+        if (cachedGuid != null) {
+            return cachedGuid;
+        }
         return getGuid(findDomainByName(name, true));
     }
 
@@ -2447,43 +2668,23 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                                                                                                      .block();
     }
 
-    private void processAsyncUploadInBackground(CloudPackage cloudPackage, UploadStatusCallback callback) {
-        String threadName = String.format("App upload monitor: %s", cloudPackage.getGuid());
-        new Thread(() -> processAsyncUpload(cloudPackage, callback), threadName).start();
-    }
-
-    private void processAsyncUpload(CloudPackage cloudPackage, UploadStatusCallback callback) {
-        while (true) {
-            Upload upload = getUploadStatus(cloudPackage.getGuid());
-            Status uploadStatus = upload.getStatus();
-            boolean unsubscribe = callback.onProgress(uploadStatus.toString());
-            if (unsubscribe || isUploadReady(uploadStatus)) {
-                return;
-            }
-            if (hasUploadFailed(uploadStatus)) {
-                callback.onError(upload.getErrorDetails()
-                                       .getDescription());
-                return;
-            }
-            try {
-                Thread.sleep(PACKAGE_UPLOAD_JOB_POLLING_PERIOD);
-            } catch (InterruptedException e) {
-                return;
-            }
+    private Upload toUpload(CloudPackage cloudPackage) {
+        ErrorDetails errorDetails = null;
+        if (cloudPackage.getType() == CloudPackage.Type.BITS) {
+            errorDetails = ImmutableErrorDetails.builder()
+                                                .description(((BitsData) cloudPackage.getData()).getError())
+                                                .build();
         }
-    }
-
-    private boolean isUploadReady(Status status) {
-        return status == Status.READY;
-    }
-
-    private boolean hasUploadFailed(Status status) {
-        return status == Status.EXPIRED || status == Status.FAILED;
+        return ImmutableUpload.builder()
+                              .status(cloudPackage.getStatus())
+                              .errorDetails(errorDetails)
+                              .build();
     }
 
     @Override
     public CloudPackage getPackage(UUID packageGuid) {
-        return fetch(() -> getPackageResource(packageGuid), ImmutableRawCloudPackage::of);
+        return reactiveClient.getPackage(packageGuid)
+                             .block();
     }
 
     private Mono<? extends Package> getPackageResource(UUID guid) {
@@ -2494,6 +2695,22 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                        .get(request);
     }
 
+    private Flux<CloudPackage> getPackagesInBatches(Collection<UUID> packageGuids) {
+        return Flux.fromIterable(toBatches(packageGuids, MAX_CHAR_LENGTH_FOR_PARAMS_IN_REQUEST))
+                   .flatMap(batch -> fetchFlux(() -> getPackageResourcesByGuids(batch), ImmutableRawCloudPackage::of));
+    }
+
+    private Flux<? extends PackageResource> getPackageResourcesByGuids(List<UUID> packageGuids) {
+        IntFunction<ListPackagesRequest> pageRequestSupplier = page -> ListPackagesRequest.builder()
+                                                                                          .packageIds(packageGuids.stream()
+                                                                                                                  .map(UUID::toString)
+                                                                                                                  .collect(Collectors.toList()))
+                                                                                          .page(page)
+                                                                                          .build();
+        return PaginationUtils.requestClientV3Resources(page -> delegate.packages()
+                                                                        .list(pageRequestSupplier.apply(page)));
+    }
+
     private UUID getTargetOrganizationGuid() {
         return getGuid(target.getOrganization());
     }
@@ -2502,6 +2719,22 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
         return getGuid(target);
     }
 
+    private void cacheGuid(ResourceType type, String name, String guid) {
+        if (resourceGuidCache.isEnabled()) {
+            resourceGuidCache.put(type, getCacheScopeGuid(type), name, UUID.fromString(guid));
+        }
+    }
+
+    /**
+     * Domains belong to an organization or are shared, so they are cached per organization instead of per space.
+     */
+    private UUID getCacheScopeGuid(ResourceType type) {
+        if (type != ResourceType.DOMAIN) {
+            return getTargetSpaceGuid();
+        }
+        return target == null ? null : getGuid(target.getOrganization());
+    }
+
     private UUID getGuid(CloudEntity entity) {
         return Optional.ofNullable(entity)
                        .map(CloudEntity::getMetadata)
@@ -2569,4 +2802,411 @@ public class CloudControllerRestClientImpl implements CloudControllerRestClient
                                .map(Derivable::derive);
     }
 
+    /**
+     * Non-blocking view over the same request pipelines used by the blocking operations of the enclosing client.
+     */
+    private class ReactiveClient implements ReactiveCloudControllerClient {
+
+        @Override
+        public CloudSpace getTarget() {
+            return target;
+        }
+
+        @Override
+        public Mono<CloudApplication> getApplication(String applicationName) {
+            return getApplication(applicationName, true);
+        }
+
+        @Override
+        public Mono<CloudApplication> getApplication(String applicationName, boolean required) {
+            Mono<CloudApplication> application = fetchMono(() -> getApplicationByName(applicationName), this::toRawApplication);
+            if (required) {
+                application = application.switchIfEmpty(notFound("Application " + applicationName + " not found."));
+            }
+            return convertErrors(application);
+        }
+
+        @Override
+        public Mono<UUID> getApplicationGuid(String applicationName) {
+            return convertErrors(resolveApplicationGuid(applicationName));
+        }
+
+        @Override
+        public Mono<String> getApplicationName(UUID applicationGuid) {
+            return convertErrors(getApplicationByGuid(applicationGuid).map(Application::getName));
+        }
+
+        @Override
+        public Flux<CloudApplication> getApplications() {
+            return convertErrors(fetchFlux(CloudControllerRestClientImpl.this::getApplicationResources, this::toRawApplication));
+        }
+
+        @Override
+        public Flux<CloudApplication> getApplicationsByMetadataLabelSelector(String labelSelector) {
+            return convertErrors(Flux.defer(() -> {
+                assertSpaceProvided("get applications");
+                return fetchFlux(() -> getApplicationsByLabelSelector(labelSelector), this::toRawApplication);
+            }));
+        }
+
+        @Override
+        public Mono<Map<String, String>> getApplicationEnvironment(UUID applicationGuid) {
+            return convertErrors(delegate.applicationsV3()
+                                         .getEnvironmentVariables(GetApplicationEnvironmentVariablesRequest.builder()
+                                                                                                           .applicationId(
+                                                                                                               applicationGuid.toString())
+                                                                                                           .build())
+                                         .map(GetApplicationEnvironmentVariablesResponse::getVars));
+        }
+
+        @Override
+        public Flux<CloudEvent> getApplicationEvents(String applicationName) {
+            return convertErrors(resolveApplicationGuid(applicationName).flatMapMany(this::getEventsByTarget));
+        }
+
+        @Override
+        public Mono<InstancesInfo> getApplicationInstances(UUID applicationGuid) {
+            return convertErrors(fetchMono(() -> getApplicationProcessStatsResource(applicationGuid), ImmutableRawInstancesInfo::of));
+        }
+
+        @Override
+        public Mono<CloudProcess> getApplicationProcess(UUID applicationGuid) {
+            return convertErrors(fetchMono(() -> getApplicationProcessResource(applicationGuid), ImmutableRawCloudProcess::of));
+        }
+
+        @Override
+        public Flux<CloudRoute> getApplicationRoutes(UUID applicationGuid) {
+            return convertErrors(fetchFlux(() -> getRouteResourcesByAppGuid(applicationGuid),
+                                           routeResource -> ImmutableRawCloudRoute.builder()
+                                                                                  .route(routeResource)
+                                                                                  .applicationGuid(applicationGuid)
+                                                                                  .build()));
+        }
+
+        @Override
+        public Mono<Boolean> getApplicationSshEnabled(UUID applicationGuid) {
+            return convertErrors(delegate.applicationsV3()
+                                         .getSshEnabled(GetApplicationSshEnabledRequest.builder()
+                                                                                       .applicationId(applicationGuid.toString())
+                                                                                       .build())
+                                         .map(GetApplicationSshEnabledResponse::getEnabled)
+                                         .defaultIfEmpty(false));
+        }
+
+        @Override
+        public Mono<CloudDomain> getDefaultDomain() {
+            return convertErrors(fetchMono(() -> getDefaultDomainResource(getTargetOrganizationGuid().toString()),
+                                           ImmutableRawCloudDomain::of));
+        }
+
+        @Override
+        public Flux<CloudDomain> getDomains() {
+            return convertErrors(fetchFlux(CloudControllerRestClientImpl.this::getDomainResources, ImmutableRawCloudDomain::of));
+        }
+
+        @Override
+        public Flux<CloudDomain> getPrivateDomains() {
+            return convertErrors(fetchFlux(CloudControllerRestClientImpl.this::getPrivateDomainResources, ImmutableRawCloudDomain::of));
+        }
+
+        @Override
+        public Mono<SpaceSnapshot> getSpaceSnapshot() {
+            return convertErrors(Mono.defer(() -> {
+                assertSpaceProvided("get space snapshot");
+                UUID spaceGuid = getTargetSpaceGuid();
+                Mono<List<CloudApplication>> applications = fetchFlux(CloudControllerRestClientImpl.this::getApplicationResources,
+                                                                      this::toRawApplication).collectList()
+                                                                                             .cache();
+                Mono<Map<UUID, Collection<CloudServiceBinding>>> serviceBindings = applications.flatMap(
+                    this::getServiceBindingsByApplication);
+                Mono<Map<UUID, CloudProcess>> processes = getWebProcessResourcesBySpaceGuid(spaceGuid).collectMap(this::getApplicationGuid,
+                                                                                                                  this::toProcess);
+                Mono<List<RouteResource>> routes = getRouteResourcesBySpaceGuid(spaceGuid).collectList();
+                return Mono.zip(applications, processes, routes, serviceBindings)
+                           .map(tuple -> ImmutableSpaceSnapshot.builder()
+                                                               .space(target)
+                                                               .applications(toApplicationSnapshots(tuple.getT1(), tuple.getT2(),
+                                                                                                    tuple.getT3(), tuple.getT4()))
+                                                               .build());
+            }));
+        }
+
+        @Override
+        public Flux<CloudDomain> getSharedDomains() {
+            return convertErrors(fetchFlux(CloudControllerRestClientImpl.this::getSharedDomainResources, ImmutableRawCloudDomain::of));
+        }
+
+        @Override
+        public Flux<CloudEvent> getEvents() {
+            return convertErrors(fetchFlux(CloudControllerRestClientImpl.this::getEventResources, ImmutableRawCloudEvent::of));
+        }
+
+        @Override
+        public Flux<CloudEvent> getEventsByTarget(UUID uuid) {
+            return convertErrors(fetchFlux(() -> getEventResourcesByTarget(uuid.toString()), ImmutableRawCloudEvent::of));
+        }
+
+        @Override
+        public Mono<UUID> getRequiredServiceInstanceGuid(String name) {
+            return convertErrors(resolveServiceInstanceGuid(name));
+        }
+
+        @Override
+        public Mono<CloudServiceInstance> getServiceInstance(String serviceInstanceName) {
+            return getServiceInstance(serviceInstanceName, true);
+        }
+
+        @Override
+        public Mono<CloudServiceInstance> getServiceInstance(String serviceInstanceName, boolean required) {
+            Mono<CloudServiceInstance> serviceInstance = fetchMonoWithAuxiliaryContent(() -> getServiceInstanceResourceByName(
+                serviceInstanceName), CloudControllerRestClientImpl.this::zipWithAuxiliaryServiceInstanceContent);
+            return convertErrors(requireServiceInstance(serviceInstanceName, serviceInstance, required));
+        }
+
+        @Override
+        public Mono<CloudServiceInstance> getServiceInstanceWithoutAuxiliaryContent(String serviceInstanceName) {
+            return getServiceInstanceWithoutAuxiliaryContent(serviceInstanceName, true);
+        }
+
+        @Override
+        public Mono<CloudServiceInstance> getServiceInstanceWithoutAuxiliaryContent(String serviceInstanceName, boolean required) {
+            Mono<CloudServiceInstance> serviceInstance = fetchMono(() -> getServiceInstanceResourceByName(serviceInstanceName),
+                                                                   ImmutableRawCloudServiceInstance::of);
+            return convertErrors(requireServiceInstance(serviceInstanceName, serviceInstance, required));
+        }
+
+        @Override
+        public Flux<CloudServiceInstance> getServiceInstancesByMetadataLabelSelector(String labelSelector) {
+            return convertErrors(fetchServiceInstancesWithAuxiliaryContent(() -> getServiceInstanceResourcesByLabelSelector(labelSelector)));
+        }
+
+        @Override
+        public Flux<CloudServiceInstance> getServiceInstancesWithoutAuxiliaryContentByMetadataLabelSelector(String labelSelector) {
+            return convertErrors(fetchFlux(() -> getServiceInstanceResourcesByLabelSelector(labelSelector),
+                                           ImmutableRawCloudServiceInstance::of));
+        }
+
+        @Override
+        public Mono<CloudServiceBinding> getServiceBinding(UUID serviceBindingGuid) {
+            // TODO: Refactor and use serviceBindingsV3.get() when https://github.com/cloudfoundry/cf-java-client/pull/1171 is merged and
+            // released
+            return convertErrors(fetchMono(() -> getServiceBindingResource(serviceBindingGuid), ImmutableRawCloudServiceBinding::of));
+        }
+
+        @Override
+        public Flux<CloudServiceBinding> getServiceAppBindings(UUID serviceInstanceGuid) {
+            return convertErrors(fetchFlux(() -> getServiceBindingResourcesByServiceInstanceGuid(serviceInstanceGuid),
+                                           ImmutableRawCloudServiceBinding::of));
+        }
+
+        @Override
+        public Flux<CloudServiceBinding> getAppBindings(UUID applicationGuid) {
+            return convertErrors(fetchFlux(() -> getServiceBindingResourcesByApplicationGuid(applicationGuid),
+                                           ImmutableRawCloudServiceBinding::of));
+        }
+
+        @Override
+        public Mono<CloudServiceBinding> getServiceBindingForApplication(UUID applicationGuid, UUID serviceInstanceGuid) {
+            return convertErrors(fetchMono(() -> getServiceBindingResourceByApplicationGuidAndServiceInstanceGuid(applicationGuid,
+                                                                                                                   serviceInstanceGuid),
+                                           ImmutableRawCloudServiceBinding::of));
+        }
+
+        @Override
+        public Flux<CloudServiceBroker> getServiceBrokers() {
+            return convertErrors(fetchFlux(CloudControllerRestClientImpl.this::getServiceBrokerResources,
+                                           ImmutableRawCloudServiceBroker::of));
+        }
+
+        @Override
+        public Flux<CloudServiceKey> getServiceKeys(CloudServiceInstance serviceInstance) {
+            return convertErrors(fetchFlux(() -> getServiceKeyResource(serviceInstance), serviceKey -> ImmutableRawCloudServiceKey.builder()
+                                                                                                                                  .serviceInstance(
+                                                                                                                                      serviceInstance)
+                                                                                                                                  .serviceBindingResource(
+                                                                                                                                      serviceKey)
+                                                                                                                                  .build()));
+        }
+
+        @Override
+        public Flux<CloudServiceKey> getServiceKeysWithCredentials(CloudServiceInstance serviceInstance) {
+            return convertErrors(fetchFluxWithAuxiliaryContent(() -> getServiceKeyResource(serviceInstance),
+                                                               serviceKey -> zipWithAuxiliaryServiceKeyContent(serviceKey,
+                                                                                                               serviceInstance)));
+        }
+
+        @Override
+        public Flux<CloudServiceOffering> getServiceOfferings() {
+            return convertErrors(fetchFluxWithAuxiliaryContent(CloudControllerRestClientImpl.this::getServiceResources,
+                                                               CloudControllerRestClientImpl.this::zipWithAuxiliaryServiceOfferingContent));
+        }
+
+        @Override
+        public Flux<CloudStack> getStacks() {
+            return convertErrors(fetchFlux(CloudControllerRestClientImpl.this::getStackResources, ImmutableRawCloudStack::of));
+        }
+
+        @Override
+        public Mono<CloudTask> getTask(UUID taskGuid) {
+            return convertErrors(fetchMono(() -> getTaskResource(taskGuid), ImmutableRawCloudTask::of));
+        }
+
+        @Override
+        public Mono<CloudBuild> getBuild(UUID buildGuid) {
+            return convertErrors(fetchMono(() -> getBuildResource(buildGuid), ImmutableRawCloudBuild::of));
+        }
+
+        @Override
+        public Flux<CloudBuild> getBuildsForApplication(UUID applicationGuid) {
+            return convertErrors(fetchFlux(() -> getBuildResourcesByApplicationGuid(applicationGuid), ImmutableRawCloudBuild::of));
+        }
+
+        @Override
+        public Flux<CloudBuild> getBuildsForPackage(UUID packageGuid) {
+            return convertErrors(fetchFlux(() -> getBuildResourcesByPackageGuid(packageGuid), ImmutableRawCloudBuild::of));
+        }
+
+        @Override
+        public Mono<CloudPackage> getPackage(UUID packageGuid) {
+            return convertErrors(fetchMono(() -> getPackageResource(packageGuid), ImmutableRawCloudPackage::of));
+        }
+
+        @Override
+        public Flux<CloudPackage> getPackagesForApplication(UUID applicationGuid) {
+            return convertErrors(fetchFlux(() -> getPackages(applicationGuid.toString()), ImmutableRawCloudPackage::of));
+        }
+
+        @Override
+        public Mono<Upload> getUploadStatus(UUID packageGuid) {
+            return getPackage(packageGuid).map(CloudControllerRestClientImpl.this::toUpload);
+        }
+
+        @Override
+        public Mono<Map<UUID, Upload>> getUploadStatuses(Collection<UUID> packageGuids) {
+            return convertErrors(getPackagesInBatches(packageGuids).collectMap(CloudPackage::getGuid,
+                                                                               CloudControllerRestClientImpl.this::toUpload));
+        }
+
+        @Override
+        public Mono<Void> startApplication(String applicationName) {
+            return convertErrors(getApplicationNotInState(applicationName, ApplicationState.STARTED).flatMap(this::doStartApplication));
+        }
+
+        @Override
+        public Mono<Void> stopApplication(String applicationName) {
+            return convertErrors(getApplicationNotInState(applicationName, ApplicationState.STOPPED).flatMap(this::doStopApplication));
+        }
+
+        @Override
+        public Mono<Void> updateApplicationEnv(UUID applicationGuid, Map<String, String> env) {
+            return convertErrors(delegate.applicationsV3()
+                                         .updateEnvironmentVariables(UpdateApplicationEnvironmentVariablesRequest.builder()
+                                                                                                                 .applicationId(
+                                                                                                                     applicationGuid.toString())
+                                                                                                                 .vars(env)
+                                                                                                                 .build())
+                                         .then());
+        }
+
+        private Mono<Application> getApplicationNotInState(String applicationName, ApplicationState state) {
+            return getApplicationByName(applicationName).cast(Application.class)
+                                                        .switchIfEmpty(notFound("Application " + applicationName + " not found."))
+                                                        .filter(application -> application.getState() != state);
+        }
+
+        private Mono<Void> doStartApplication(Application application) {
+            return delegate.applicationsV3()
+                           .start(StartApplicationRequest.builder()
+                                                         .applicationId(application.getId())
+                                                         .build())
+                           .then();
+        }
+
+        private Mono<Void> doStopApplication(Application application) {
+            return delegate.applicationsV3()
+                           .stop(StopApplicationRequest.builder()
+                                                       .applicationId(application.getId())
+                                                       .build())
+                           .then();
+        }
+
+        private Mono<Map<UUID, Collection<CloudServiceBinding>>> getServiceBindingsByApplication(List<CloudApplication> applications) {
+            List<String> applicationGuids = applications.stream()
+                                                        .map(application -> application.getGuid()
+                                                                                       .toString())
+                                                        .collect(Collectors.toList());
+            return fetchFlux(() -> getServiceBindingResourcesByApplicationGuidsInBatches(applicationGuids),
+                             ImmutableRawCloudServiceBinding::of).collectMultimap(CloudServiceBinding::getApplicationGuid);
+        }
+
+        private CloudProcess toProcess(ProcessResource process) {
+            return ImmutableRawCloudProcess.of(process)
+                                           .derive();
+        }
+
+        private UUID getApplicationGuid(ProcessResource process) {
+            return UUID.fromString(process.getRelationships()
+                                          .getApp()
+                                          .getData()
+                                          .getId());
+        }
+
+        /**
+         * Joins the space-wide lists by application GUID. Routes are matched through their destinations, which are part of the route
+         * resources.
+         */
+        private List<ApplicationSnapshot> toApplicationSnapshots(List<CloudApplication> applications, Map<UUID, CloudProcess> processes,
+                                                                 List<RouteResource> routes,
+                                                                 Map<UUID, Collection<CloudServiceBinding>> serviceBindings) {
+            Map<UUID, List<CloudRoute>> routesByApplication = new HashMap<>();
+            for (RouteResource route : routes) {
+                route.getDestinations()
+                     .stream()
+                     .map(destination -> UUID.fromString(destination.getApplication()
+                                                                    .getApplicationId()))
+                     .distinct()
+                     .forEach(applicationGuid -> routesByApplication.computeIfAbsent(applicationGuid, guid -> new ArrayList<>())
+                                                                    .add(ImmutableRawCloudRoute.builder()
+                                                                                               .route(route)
+                                                                                               .applicationGuid(applicationGuid)
+                                                                                               .build()
+                                                                                               .derive()));
+            }
+            return applications.stream()
+                               .map(application -> ImmutableApplicationSnapshot.builder()
+                                                                               .application(application)
+                                                                               .process(processes.get(application.getGuid()))
+                                                                               .routes(routesByApplication.getOrDefault(application.getGuid(),
+                                                                                                                        Collections.emptyList()))
+                                                                               .serviceBindings(serviceBindings.getOrDefault(application.getGuid(),
+                                                                                                                             Collections.emptyList()))
+                                                                               .build())
+                               .collect(Collectors.toList());
+        }
+
+        private Derivable<CloudApplication> toRawApplication(Application application) {
+            return ImmutableRawCloudApplication.builder()
+                                               .application(application)
+                                               .space(target)
+                                               .build();
+        }
+
+        private Mono<CloudServiceInstance> requireServiceInstance(String serviceInstanceName, Mono<CloudServiceInstance> serviceInstance,
+                                                                  boolean required) {
+            if (required) {
+                return serviceInstance.switchIfEmpty(notFound("Service instance " + serviceInstanceName + " not found."));
+            }
+            return serviceInstance;
+        }
+
+        private <T> Mono<T> convertErrors(Mono<T> mono) {
+            return mono.onErrorMap(AbstractCloudFoundryException.class, CloudUtil::convertV3ClientException);
+        }
+
+        private <T> Flux<T> convertErrors(Flux<T> flux) {
+            return flux.onErrorMap(AbstractCloudFoundryException.class, CloudUtil::convertV3ClientException);
+        }
+
+    }
+
 }
@@ -2,12 +2,14 @@ package com.sap.cloudfoundry.client.facade.rest;
 
 import com.sap.cloudfoundry.client.facade.CloudOperationException;
 import com.sap.cloudfoundry.client.facade.adapters.RawCloudEntity;
+import com.sap.cloudfoundry.client.facade.adapters.ReactorSpacesWithOrganizationV3;
+import com.sap.cloudfoundry.client.facade.adapters.ReactorSpacesWithOrganizationV3.SpaceWithOrganization;
 import com.sap.cloudfoundry.client.facade.domain.CloudSpace;
 import com.sap.cloudfoundry.client.facade.domain.ImmutableCloudOrganization;
 import com.sap.cloudfoundry.client.facade.domain.ImmutableCloudSpace;
+import com.sap.cloudfoundry.client.facade.util.CloudUtil;
 import com.sap.cloudfoundry.client.facade.util.UriUtil;
 
-import org.cloudfoundry.AbstractCloudFoundryException;
 import org.cloudfoundry.client.v3.ClientV3Exception;
 import org.cloudfoundry.client.v3.organizations.GetOrganizationRequest;
 import org.cloudfoundry.client.v3.organizations.ListOrganizationsRequest;
@@ -18,11 +20,14 @@ import org.cloudfoundry.client.v3.spaces.ListSpacesRequest;
 import org.cloudfoundry.client.v3.spaces.Space;
 import org.cloudfoundry.client.v3.spaces.SpacesV3;
 import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 import reactor.util.retry.RetryBackoffSpec;
 
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class CloudSpaceClient {
@@ -33,55 +38,88 @@ public class CloudSpaceClient {
 
     private final SpacesV3 spacesClient;
     private final OrganizationsV3 orgsClient;
+    private final ReactorSpacesWithOrganizationV3 spacesWithOrganizationClient;
 
     public CloudSpaceClient(SpacesV3 spacesClient, OrganizationsV3 orgsClient) {
+        this(spacesClient, orgsClient, null);
+    }
+
+    /**
+     * @param spacesWithOrganizationClient used to resolve a space together with its organization in a single request, or null to always
+     *                                     request them one after the other
+     */
+    public CloudSpaceClient(SpacesV3 spacesClient, OrganizationsV3 orgsClient,
+                            ReactorSpacesWithOrganizationV3 spacesWithOrganizationClient) {
         this.spacesClient = spacesClient;
         this.orgsClient = orgsClient;
+        this.spacesWithOrganizationClient = spacesWithOrganizationClient;
     }
 
     public CloudSpace getSpace(UUID spaceGuid) {
-        Space space = spacesClient.get(GetSpaceRequest.builder()
-                                                      .spaceId(spaceGuid.toString())
-                                                      .build())
-                                  .retryWhen(Retry.fixedDelay(RETRIES, RETRY_INTERVAL)
-                                                  .onRetryExhaustedThrow(this::throwOriginalError))
-                                  .onErrorMap(ClientV3Exception.class, this::convertV3ClientException)
-                                  .block();
+        if (spacesWithOrganizationClient == null) {
+            Space space = getSpaceWithoutOrganization(spaceGuid);
+            return mapToCloudSpace(space, getOrganization(getOrganizationGuid(space)));
+        }
+        SpaceWithOrganization spaceWithOrg = withRetry(spacesWithOrganizationClient.get(spaceGuid.toString())).block();
+        if (spaceWithOrg == null) {
+            throw new CloudOperationException(HttpStatus.NOT_FOUND, "Not Found", "Space with GUID " + spaceGuid + " not found.");
+        }
+        Organization org = spaceWithOrg.organization();
+        if (org == null) {
+            org = getOrganization(getOrganizationGuid(spaceWithOrg.space()));
+        }
+        return mapToCloudSpace(spaceWithOrg.space(), org);
+    }
+
+    private Space getSpaceWithoutOrganization(UUID spaceGuid) {
+        Space space = withRetry(spacesClient.get(GetSpaceRequest.builder()
+                                                                .spaceId(spaceGuid.toString())
+                                                                .build())).block();
         if (space == null) {
             throw new CloudOperationException(HttpStatus.NOT_FOUND, "Not Found", "Space with GUID " + spaceGuid + " not found.");
         }
+        return space;
+    }
 
-        String orgGuid = space.getRelationships()
-                              .getOrganization()
-                              .getData()
-                              .getId();
-        Organization org = orgsClient.get(GetOrganizationRequest.builder()
-                                                                .organizationId(orgGuid)
-                                                                .build())
-                                     .retryWhen(Retry.fixedDelay(RETRIES, RETRY_INTERVAL)
-                                                     .onRetryExhaustedThrow(this::throwOriginalError))
-                                     .onErrorMap(ClientV3Exception.class, this::convertV3ClientException)
-                                     .block();
+    private Organization getOrganization(String orgGuid) {
+        Organization org = withRetry(orgsClient.get(GetOrganizationRequest.builder()
+                                                                          .organizationId(orgGuid)
+                                                                          .build())).block();
         if (org == null) {
             throw new CloudOperationException(HttpStatus.NOT_FOUND, "Not Found", "Organization with GUID " + orgGuid + " not found.");
         }
-        return mapToCloudSpace(space, org);
+        return org;
     }
 
+    /**
+     * Resolves the space with a single request for all spaces with its name, including their organizations, if that is possible.
+     * Organizations which the controller did not include are requested separately. If no space matches although all spaces with the name
+     * were listed, only the organization is requested, so that the error tells which of them is missing. Otherwise, e.g. when there are
+     * more spaces with the name than fit on a page, the organization and the space are requested one after the other.
+     */
     public CloudSpace getSpace(String organizationName, String spaceName) {
-        var orgsResponse = orgsClient.list(ListOrganizationsRequest.builder()
-                                                                   .name(encodeAsQueryParam(organizationName))
-                                                                   .build())
-                                     .retryWhen(Retry.fixedDelay(RETRIES, RETRY_INTERVAL)
-                                                     .onRetryExhaustedThrow(this::throwOriginalError))
-                                     .onErrorMap(ClientV3Exception.class, this::convertV3ClientException)
-                                     .block();
-        List<? extends Organization> orgs = orgsResponse.getResources();
-        if (orgs.isEmpty()) {
-            throw new CloudOperationException(HttpStatus.NOT_FOUND, "Not Found", "Organization " + organizationName + " not found.");
+        if (spacesWithOrganizationClient != null) {
+            var spacesResponse = withRetry(spacesWithOrganizationClient.list(encodeAsQueryParam(spaceName))).block();
+            Map<String, Organization> orgsNotIncluded = new HashMap<>();
+            for (SpaceWithOrganization spaceWithOrg : spacesResponse.spaces()) {
+                Organization org = spaceWithOrg.organization();
+                if (org == null) {
+                    org = orgsNotIncluded.computeIfAbsent(getOrganizationGuid(spaceWithOrg.space()), this::getOrganization);
+                }
+                if (organizationName.equals(org.getName())) {
+                    return mapToCloudSpace(spaceWithOrg.space(), org);
+                }
+            }
+            if (spacesResponse.isComplete()) {
+                getOrganizationByName(organizationName);
+                throw new CloudOperationException(HttpStatus.NOT_FOUND, "Not Found", "Space " + spaceName + " not found in organization " + organizationName);
+            }
         }
+        return getSpaceSequentially(organizationName, spaceName);
+    }
 
-        Organization org = orgs.get(0);
+    private CloudSpace getSpaceSequentially(String organizationName, String spaceName) {
+        Organization org = getOrganizationByName(organizationName);
 
         var spacesResponse = spacesClient.list(ListSpacesRequest.builder()
                                                                 .organizationId(org.getId())
@@ -89,7 +127,7 @@ public class CloudSpaceClient {
                                                                 .build())
                                          .retryWhen(Retry.fixedDelay(RETRIES, RETRY_INTERVAL)
                                                          .onRetryExhaustedThrow(this::throwOriginalError))
-                                         .onErrorMap(ClientV3Exception.class, this::convertV3ClientException)
+                                         .onErrorMap(ClientV3Exception.class, CloudUtil::convertV3ClientException)
                                          .block();
         List<? extends Space> spaces = spacesResponse.getResources();
         if (spaces.isEmpty()) {
@@ -100,6 +138,34 @@ public class CloudSpaceClient {
         return mapToCloudSpace(space, org);
     }
 
+    private Organization getOrganizationByName(String organizationName) {
+        var orgsResponse = orgsClient.list(ListOrganizationsRequest.builder()
+                                                                   .name(encodeAsQueryParam(organizationName))
+                                                                   .build())
+                                     .retryWhen(Retry.fixedDelay(RETRIES, RETRY_INTERVAL)
+                                                     .onRetryExhaustedThrow(this::throwOriginalError))
+                                     .onErrorMap(ClientV3Exception.class, CloudUtil::convertV3ClientException)
+                                     .block();
+        List<? extends Organization> orgs = orgsResponse.getResources();
+        if (orgs.isEmpty()) {
+            throw new CloudOperationException(HttpStatus.NOT_FOUND, "Not Found", "Organization " + organizationName + " not found.");
+        }
+        return orgs.get(0);
+    }
+
+    private <T> Mono<T> withRetry(Mono<T> request) {
+        return request.retryWhen(Retry.fixedDelay(RETRIES, RETRY_INTERVAL)
+                                      .onRetryExhaustedThrow(this::throwOriginalError))
+                      .onErrorMap(ClientV3Exception.class, CloudUtil::convertV3ClientException);
+    }
+
+    private static String getOrganizationGuid(Space space) {
+        return space.getRelationships()
+                    .getOrganization()
+                    .getData()
+                    .getId();
+    }
+
     private String encodeAsQueryParam(String param) {
         return UriUtil.encodeChars(param, CHARS_TO_ENCODE);
     }
@@ -119,9 +185,4 @@ public class CloudSpaceClient {
         return signal.failure();
     }
 
-    private CloudOperationException convertV3ClientException(AbstractCloudFoundryException e) {
-        HttpStatus httpStatus = HttpStatus.valueOf(e.getStatusCode());
-        return new CloudOperationException(httpStatus, httpStatus.getReasonPhrase(), e.getMessage(), e);
-    }
-
 }
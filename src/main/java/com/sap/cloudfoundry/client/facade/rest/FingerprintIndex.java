@@ -0,0 +1,183 @@
+package com.sap.cloudfoundry.client.facade.rest;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sap.cloudfoundry.client.facade.Messages;
+
+/**
+ * On-disk index of the SHA-1 digests of application archive entries, kept per application so that repeated uploads of mostly unchanged
+ * archives do not have to hash every entry again. Entries are keyed by path, size, modification time and CRC-32, all of which are read
+ * from the central directory of the archive without decompressing anything.
+ * <p>
+ * The index of an application is a single binary file which is memory mapped when loaded. Only the entries of the most recently matched
+ * archive are written back, so the file does not grow across deployments.
+ */
+class FingerprintIndex {
+
+    static final int MAGIC = 0x43464649;
+    static final int VERSION = 1;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FingerprintIndex.class);
+    private static final FingerprintIndex DISABLED = new FingerprintIndex(null);
+    private static final int SHA1_LENGTH = 20;
+
+    private final Path directory;
+
+    FingerprintIndex(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return an index which never stores anything, used when no index directory was configured
+     */
+    static FingerprintIndex disabled() {
+        return DISABLED;
+    }
+
+    Fingerprints load(UUID applicationGuid) {
+        if (directory == null) {
+            return new Fingerprints(null, Collections.emptyMap());
+        }
+        Path file = directory.resolve(applicationGuid + ".idx");
+        return new Fingerprints(file, read(file));
+    }
+
+    private static Map<Key, byte[]> read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (NoSuchFileException e) {
+            return Collections.emptyMap();
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            LOGGER.warn(MessageFormat.format(Messages.IGNORING_FINGERPRINT_INDEX_0_BECAUSE_1, file, e.getMessage()), e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static Map<Key, byte[]> read(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalArgumentException(Messages.UNSUPPORTED_FINGERPRINT_INDEX_FORMAT);
+        }
+        int count = buffer.getInt();
+        Map<Key, byte[]> fingerprints = new HashMap<>((int) (count / 0.75f) + 1);
+        for (int i = 0; i < count; i++) {
+            byte[] path = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(path);
+            Key key = new Key(new String(path, StandardCharsets.UTF_8), buffer.getLong(), buffer.getLong(),
+                              Integer.toUnsignedLong(buffer.getInt()));
+            byte[] sha1 = new byte[SHA1_LENGTH];
+            buffer.get(sha1);
+            fingerprints.put(key, sha1);
+        }
+        return fingerprints;
+    }
+
+    /**
+     * The fingerprints of a single application. Lookups and additions are thread safe, so entries can be fingerprinted in parallel.
+     */
+    static class Fingerprints {
+
+        private final Path file;
+        private final Map<Key, byte[]> previous;
+        private final Map<Key, byte[]> current = new ConcurrentHashMap<>();
+
+        private Fingerprints(Path file, Map<Key, byte[]> previous) {
+            this.file = file;
+            this.previous = previous;
+        }
+
+        /**
+         * @return the hex encoded SHA-1 digest of the entry, or null if the entry is not known
+         */
+        String get(ZipEntry entry) {
+            Key key = Key.of(entry);
+            byte[] sha1 = previous.get(key);
+            if (sha1 == null) {
+                return null;
+            }
+            current.put(key, sha1);
+            return HexFormat.of()
+                            .formatHex(sha1);
+        }
+
+        void put(ZipEntry entry, String sha1) {
+            current.put(Key.of(entry), HexFormat.of()
+                                                .parseHex(sha1));
+        }
+
+        int size() {
+            return current.size();
+        }
+
+        /**
+         * Replaces the index file with the entries which were looked up or added since it was loaded. Failures are only logged, as the
+         * index is merely an optimization.
+         */
+        void save() {
+            if (file == null) {
+                return;
+            }
+            try {
+                Files.createDirectories(file.getParent());
+                Path temporaryFile = Files.createTempFile(file.getParent(), file.getFileName()
+                                                                                .toString(),
+                                                          ".tmp");
+                try {
+                    write(temporaryFile);
+                    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temporaryFile);
+                }
+            } catch (IOException e) {
+                LOGGER.warn(MessageFormat.format(Messages.COULD_NOT_SAVE_FINGERPRINT_INDEX_0_BECAUSE_1, file, e.getMessage()), e);
+            }
+        }
+
+        private void write(Path target) throws IOException {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(current.size());
+                for (Map.Entry<Key, byte[]> fingerprint : current.entrySet()) {
+                    Key key = fingerprint.getKey();
+                    byte[] path = key.path.getBytes(StandardCharsets.UTF_8);
+                    output.writeShort(path.length);
+                    output.write(path);
+                    output.writeLong(key.size);
+                    output.writeLong(key.time);
+                    output.writeInt((int) key.crc);
+                    output.write(fingerprint.getValue());
+                }
+            }
+        }
+    }
+
+    private record Key(String path, long size, long time, long crc) {
+
+        static Key of(ZipEntry entry) {
+            return new Key(entry.getName(), entry.getSize(), entry.getTime(), entry.getCrc());
+        }
+    }
+
+}
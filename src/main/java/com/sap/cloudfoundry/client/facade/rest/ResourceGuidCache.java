@@ -0,0 +1,104 @@
+package com.sap.cloudfoundry.client.facade.rest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bounded name-to-GUID cache for resources that are looked up by name within the scope they belong to, which is the space for applications
+ * and service instances and the organization for domains. Entries expire after a fixed time to live and the least recently used entries
+ * are evicted once the maximum size is reached.
+ */
+public class ResourceGuidCache {
+
+    public enum ResourceType {
+        APPLICATION, SERVICE_INSTANCE, DOMAIN
+    }
+
+    private static final ResourceGuidCache DISABLED = new ResourceGuidCache(Duration.ZERO, 0, Clock.systemUTC());
+
+    private final long timeToLiveInMillis;
+    private final int maxSize;
+    private final Clock clock;
+    private final Map<Key, Entry> entries;
+
+    public ResourceGuidCache(Duration timeToLive, int maxSize) {
+        this(timeToLive, maxSize, Clock.systemUTC());
+    }
+
+    ResourceGuidCache(Duration timeToLive, int maxSize, Clock clock) {
+        this.timeToLiveInMillis = timeToLive.toMillis();
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > ResourceGuidCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return a cache which never stores anything, used when caching was not requested
+     */
+    public static ResourceGuidCache disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && timeToLiveInMillis > 0;
+    }
+
+    public synchronized UUID get(ResourceType type, UUID scopeGuid, String name) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Key key = new Key(type, scopeGuid, name);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= clock.millis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.guid;
+    }
+
+    public synchronized void put(ResourceType type, UUID scopeGuid, String name, UUID guid) {
+        if (!isEnabled() || name == null || guid == null) {
+            return;
+        }
+        entries.put(new Key(type, scopeGuid, name), new Entry(guid, clock.millis() + timeToLiveInMillis));
+    }
+
+    public synchronized void remove(ResourceType type, UUID scopeGuid, String name) {
+        if (isEnabled()) {
+            entries.remove(new Key(type, scopeGuid, name));
+        }
+    }
+
+    public synchronized void remove(ResourceType type, UUID guid) {
+        if (isEnabled()) {
+            entries.entrySet()
+                   .removeIf(entry -> entry.getKey().type == type && entry.getValue().guid.equals(guid));
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private record Key(ResourceType type, UUID scopeGuid, String name) {
+    }
+
+    private record Entry(UUID guid, long expiresAt) {
+    }
+
+}
@@ -0,0 +1,281 @@
+package com.sap.cloudfoundry.client.facade.rest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.cloudfoundry.client.CloudFoundryClient;
+import org.cloudfoundry.client.v3.Checksum;
+import org.cloudfoundry.client.v3.ChecksumType;
+import org.cloudfoundry.client.v3.resourcematch.ListMatchingResourcesRequest;
+import org.cloudfoundry.client.v3.resourcematch.ListMatchingResourcesResponse;
+import org.cloudfoundry.client.v3.resourcematch.MatchedResource;
+
+import com.sap.cloudfoundry.client.facade.CloudException;
+import com.sap.cloudfoundry.client.facade.rest.FingerprintIndex.Fingerprints;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Splits an application archive into the files which the cloud controller already has in its resource cache and the files which still
+ * have to be uploaded. The entries of the archive are fingerprinted in parallel, reusing the digests of entries which did not change since
+ * the last upload, and matched in batches.
+ */
+class ResourceMatcher {
+
+    static final int MAX_RESOURCES_PER_REQUEST = 1000;
+    static final String DEFAULT_FILE_MODE = "0644";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PERMISSIONS_ATTRIBUTE = "zip:permissions";
+    private static final Map<String, ?> READ_ARCHIVE_OPTIONS = Map.of("enablePosixFileAttributes", true);
+    private static final Map<String, ?> CREATE_ARCHIVE_OPTIONS = Map.of("create", true, "enablePosixFileAttributes", true, "useTempFile",
+                                                                        true);
+
+    private final CloudFoundryClient delegate;
+    private final Fingerprints fingerprints;
+
+    ResourceMatcher(CloudFoundryClient delegate) {
+        this(delegate, FingerprintIndex.disabled()
+                                       .load(null));
+    }
+
+    /**
+     * @param fingerprints known digests of archive entries, which are used instead of hashing the entries again and are updated with the
+     *                     digests of the new ones
+     */
+    ResourceMatcher(CloudFoundryClient delegate, Fingerprints fingerprints) {
+        this.delegate = delegate;
+        this.fingerprints = fingerprints;
+    }
+
+    MatchedArchive match(Path archive) {
+        try (ZipFile zipFile = new ZipFile(archive.toFile());
+            FileSystem archiveFileSystem = FileSystems.newFileSystem(archive, READ_ARCHIVE_OPTIONS)) {
+            Map<String, Set<PosixFilePermission>> permissions = readPermissions(zipFile, archiveFileSystem);
+            List<MatchedResource> matchedResources = findMatchingResources(fingerprint(zipFile, permissions));
+            Set<String> matchedFileNames = matchedResources.stream()
+                                                           .map(MatchedResource::getPath)
+                                                           .collect(Collectors.toSet());
+            Path bits = Files.createTempFile("unmatched-bits", ".zip");
+            try {
+                long unmatchedSize = writeUnmatchedEntries(zipFile, permissions, matchedFileNames, bits);
+                return new MatchedArchive(bits, matchedResources, matchedFileNames, unmatchedSize);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(bits);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new CloudException(e.getMessage(), e);
+        } catch (UncheckedIOException e) {
+            throw new CloudException(e.getCause()
+                                      .getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * @return the permissions of the entries which have them, keyed by entry name
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Set<PosixFilePermission>> readPermissions(ZipFile zipFile, FileSystem archiveFileSystem) throws IOException {
+        Map<String, Set<PosixFilePermission>> permissions = new HashMap<>();
+        Enumeration<? extends ZipEntry> entries = zipFile.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement()
+                                 .getName();
+            Object entryPermissions = Files.getAttribute(archiveFileSystem.getPath(name), PERMISSIONS_ATTRIBUTE);
+            if (entryPermissions != null) {
+                permissions.put(name, (Set<PosixFilePermission>) entryPermissions);
+            }
+        }
+        return permissions;
+    }
+
+    private List<MatchedResource> fingerprint(ZipFile zipFile, Map<String, Set<PosixFilePermission>> permissions) {
+        List<? extends ZipEntry> files = zipFile.stream()
+                                                .filter(this::isMatchable)
+                                                .collect(Collectors.toList());
+        return Flux.fromIterable(files)
+                   .parallel()
+                   .runOn(Schedulers.boundedElastic())
+                   .map(entry -> fingerprint(zipFile, entry, permissions.get(entry.getName())))
+                   .sequential()
+                   .collectList()
+                   .block();
+    }
+
+    private boolean isMatchable(ZipEntry entry) {
+        return !entry.isDirectory() && entry.getSize() > 0 && entry.getSize() <= Integer.MAX_VALUE;
+    }
+
+    private MatchedResource fingerprint(ZipFile zipFile, ZipEntry entry, Set<PosixFilePermission> permissions) {
+        String sha1 = fingerprints.get(entry);
+        if (sha1 == null) {
+            sha1 = computeSha1(zipFile, entry);
+            fingerprints.put(entry, sha1);
+        }
+        return MatchedResource.builder()
+                              .path(entry.getName())
+                              .size((int) entry.getSize())
+                              .mode(toFileMode(permissions))
+                              .checksum(Checksum.builder()
+                                                .type(ChecksumType.SHA1)
+                                                .value(sha1)
+                                                .build())
+                              .build();
+    }
+
+    private String computeSha1(ZipFile zipFile, ZipEntry entry) {
+        MessageDigest sha1 = createSha1Digest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream content = zipFile.getInputStream(entry)) {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                sha1.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return HexFormat.of()
+                        .formatHex(sha1.digest());
+    }
+
+    private List<MatchedResource> findMatchingResources(List<MatchedResource> resources) {
+        return Flux.fromIterable(resources)
+                   .buffer(MAX_RESOURCES_PER_REQUEST)
+                   .concatMap(batch -> delegate.resourceMatchV3()
+                                               .list(ListMatchingResourcesRequest.builder()
+                                                                                 .resources(batch)
+                                                                                 .build()))
+                   .flatMapIterable(ListMatchingResourcesResponse::getResources)
+                   .collectList()
+                   .block();
+    }
+
+    /**
+     * @return the permissions as an octal string, or {@value #DEFAULT_FILE_MODE} if the entry has none
+     */
+    static String toFileMode(Set<PosixFilePermission> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return DEFAULT_FILE_MODE;
+        }
+        int mode = 0;
+        for (PosixFilePermission permission : permissions) {
+            // The constants are declared from OWNER_READ to OTHERS_EXECUTE, i.e. from the highest mode bit to the lowest
+            mode |= 1 << (8 - permission.ordinal());
+        }
+        return String.format("%04o", mode);
+    }
+
+    /**
+     * Copies the unmatched entries into a new archive, keeping their permissions.
+     */
+    private long writeUnmatchedEntries(ZipFile zipFile, Map<String, Set<PosixFilePermission>> permissions, Set<String> matchedFileNames,
+                                       Path target) throws IOException {
+        long unmatchedSize = 0;
+        // The zip file system creates the archive itself and can not open an empty file
+        Files.delete(target);
+        try (FileSystem targetFileSystem = FileSystems.newFileSystem(target, CREATE_ARCHIVE_OPTIONS)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (matchedFileNames.contains(entry.getName())) {
+                    continue;
+                }
+                Path copy = targetFileSystem.getPath(entry.getName());
+                if (entry.isDirectory()) {
+                    Files.createDirectories(copy);
+                } else {
+                    createParentDirectories(copy);
+                    unmatchedSize += copy(zipFile, entry, copy);
+                }
+                Files.setLastModifiedTime(copy, entry.getLastModifiedTime());
+                Set<PosixFilePermission> entryPermissions = permissions.get(entry.getName());
+                if (entryPermissions != null) {
+                    Files.setPosixFilePermissions(copy, entryPermissions);
+                }
+            }
+        }
+        return unmatchedSize;
+    }
+
+    private static void createParentDirectories(Path path) throws IOException {
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    private long copy(ZipFile zipFile, ZipEntry entry, Path target) throws IOException {
+        try (InputStream content = zipFile.getInputStream(entry)) {
+            return Files.copy(content, target);
+        }
+    }
+
+    private static MessageDigest createSha1Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The part of an application archive which has to be uploaded, together with the resources it refers to. Closing it deletes the
+     * temporary archive.
+     */
+    static class MatchedArchive implements Closeable {
+
+        private final Path bits;
+        private final List<MatchedResource> matchedResources;
+        private final Set<String> matchedFileNames;
+        private final long unmatchedSize;
+
+        MatchedArchive(Path bits, List<MatchedResource> matchedResources, Set<String> matchedFileNames, long unmatchedSize) {
+            this.bits = bits;
+            this.matchedResources = matchedResources;
+            this.matchedFileNames = matchedFileNames;
+            this.unmatchedSize = unmatchedSize;
+        }
+
+        Path getBits() {
+            return bits;
+        }
+
+        List<MatchedResource> getMatchedResources() {
+            return matchedResources;
+        }
+
+        Set<String> getMatchedFileNames() {
+            return matchedFileNames;
+        }
+
+        long getUnmatchedSize() {
+            return unmatchedSize;
+        }
+
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(bits);
+        }
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.sap.cloudfoundry.client.facade.rest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+import org.cloudfoundry.client.v3.resourcematch.MatchedResource;
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.TokenProvider;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sap.cloudfoundry.client.facade.CloudOperationException;
+import com.sap.cloudfoundry.client.facade.UploadStatusCallback;
+import com.sap.cloudfoundry.client.facade.domain.FileDigests;
+import com.sap.cloudfoundry.client.facade.domain.ImmutableFileDigests;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.NettyOutbound;
+import reactor.util.retry.Retry;
+
+/**
+ * Uploads package bits as a stream of chunks read from a {@link FileChannel}, instead of handing the whole file to the cloud foundry
+ * client. This makes it possible to report the number of bytes sent and to compute the digests of the archive in the same pass. Like the
+ * operations of the cloud foundry client, an upload which is rejected with 401 invalidates the token and is sent once more with a new one.
+ */
+class StreamingBitsUploader {
+
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    private static final int MAX_UNAUTHORIZED_RETRIES = 1;
+
+    private final ConnectionContext connectionContext;
+    private final TokenProvider tokenProvider;
+    private final Mono<String> v3Root;
+    private final Map<String, String> requestTags;
+
+    StreamingBitsUploader(ConnectionContext connectionContext, TokenProvider tokenProvider, Mono<String> v3Root,
+                          Map<String, String> requestTags) {
+        this.connectionContext = connectionContext;
+        this.tokenProvider = tokenProvider;
+        this.v3Root = v3Root;
+        this.requestTags = requestTags;
+    }
+
+    Mono<FileDigests> upload(UUID packageGuid, Path file, UploadStatusCallback callback) {
+        return upload(packageGuid, file, Collections.emptyList(), callback);
+    }
+
+    /**
+     * @param matchedResources resources which the cloud controller already has and which are therefore missing from the file
+     */
+    Mono<FileDigests> upload(UUID packageGuid, Path file, List<MatchedResource> matchedResources, UploadStatusCallback callback) {
+        return Mono.zip(v3Root, Mono.defer(() -> tokenProvider.getToken(connectionContext)))
+                   .flatMap(rootAndToken -> upload(rootAndToken.getT1() + "/packages/" + packageGuid + "/upload", rootAndToken.getT2(),
+                                                   file, matchedResources, callback))
+                   .retryWhen(Retry.max(MAX_UNAUTHORIZED_RETRIES)
+                                   .filter(StreamingBitsUploader::isUnauthorized)
+                                   .doBeforeRetry(signal -> tokenProvider.invalidate(connectionContext))
+                                   .onRetryExhaustedThrow((retrySpec, signal) -> signal.failure()));
+    }
+
+    private static boolean isUnauthorized(Throwable error) {
+        return error instanceof CloudOperationException e && e.getStatusCode() == HttpStatus.UNAUTHORIZED;
+    }
+
+    private Mono<FileDigests> upload(String uri, String token, Path file, List<MatchedResource> matchedResources,
+                                     UploadStatusCallback callback) {
+        return Mono.fromCallable(() -> new BitsBody(file, CHUNK_SIZE, toJson(matchedResources)))
+                   .flatMap(body -> send(uri, token, body, callback));
+    }
+
+    private String toJson(List<MatchedResource> matchedResources) throws JsonProcessingException {
+        if (matchedResources.isEmpty()) {
+            return null;
+        }
+        return connectionContext.getObjectMapper()
+                                .writeValueAsString(matchedResources);
+    }
+
+    private Mono<FileDigests> send(String uri, String token, BitsBody body, UploadStatusCallback callback) {
+        LongConsumer progressListener = uploadedBytes -> callback.onBytesUploaded(uploadedBytes, body.getFileSize());
+        return connectionContext.getHttpClient()
+                                .headers(headers -> {
+                                    requestTags.forEach(headers::set);
+                                    headers.set("Authorization", token);
+                                    headers.set("Content-Type", body.getContentType());
+                                    headers.set("Content-Length", body.getContentLength());
+                                })
+                                .post()
+                                .uri(uri)
+                                .send((request, outbound) -> body.write(outbound, progressListener))
+                                .responseSingle((response, content) -> {
+                                    HttpStatus status = HttpStatus.valueOf(response.status()
+                                                                                   .code());
+                                    if (status.is2xxSuccessful()) {
+                                        return Mono.just(body.getDigests());
+                                    }
+                                    return content.asString()
+                                                  .defaultIfEmpty(status.getReasonPhrase())
+                                                  .flatMap(description -> Mono.error(new CloudOperationException(status,
+                                                                                                                 status.getReasonPhrase(),
+                                                                                                                 description)));
+                                });
+    }
+
+    /**
+     * The multipart/form-data body of a package upload. Reading it computes the digests of the file, so they are only available after the
+     * body has been read completely.
+     */
+    static class BitsBody {
+
+        private final Path file;
+        private final int chunkSize;
+        private final long fileSize;
+        private final String boundary = UUID.randomUUID()
+                                            .toString();
+        private final byte[] preamble;
+        private final byte[] epilogue;
+        private MessageDigest sha1;
+        private MessageDigest sha256;
+
+        BitsBody(Path file, int chunkSize) throws IOException {
+            this(file, chunkSize, null);
+        }
+
+        BitsBody(Path file, int chunkSize, String resourcesJson) throws IOException {
+            this.file = file;
+            this.chunkSize = chunkSize;
+            this.fileSize = Files.size(file);
+            this.preamble = (buildResourcesPart(resourcesJson) + "--" + boundary + "\r\n"
+                + "Content-Disposition: " + buildBitsContentDisposition(file) + "\r\n"
+                + "Content-Type: application/zip\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+            this.epilogue = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static ContentDisposition buildBitsContentDisposition(Path file) {
+            return ContentDisposition.formData()
+                                     .name("bits")
+                                     .filename(file.getFileName()
+                                                   .toString())
+                                     .build();
+        }
+
+        private String buildResourcesPart(String resourcesJson) {
+            if (resourcesJson == null) {
+                return "";
+            }
+            return "--" + boundary + "\r\n" + "Content-Disposition: form-data; name=\"resources\"\r\n"
+                + "Content-Type: application/json\r\n\r\n" + resourcesJson + "\r\n";
+        }
+
+        String getContentType() {
+            return "multipart/form-data; boundary=" + boundary;
+        }
+
+        long getContentLength() {
+            return preamble.length + fileSize + epilogue.length;
+        }
+
+        long getFileSize() {
+            return fileSize;
+        }
+
+        /**
+         * Writes the body chunk by chunk and reports the number of file bytes only after the chunk containing them has been written to the
+         * connection.
+         */
+        Mono<Void> write(NettyOutbound outbound, LongConsumer progressListener) {
+            return read(outbound.alloc()).concatMap(chunk -> writeChunk(outbound, chunk))
+                                         .scan(0L, Long::sum)
+                                         .map(this::toWrittenFileBytes)
+                                         .filter(writtenFileBytes -> writtenFileBytes > 0)
+                                         .distinctUntilChanged()
+                                         .doOnNext(progressListener::accept)
+                                         .then();
+        }
+
+        private static Mono<Long> writeChunk(NettyOutbound outbound, ByteBuf chunk) {
+            long size = chunk.readableBytes();
+            // A Mono would be sent as the whole request body, a Flux is appended to the body which has already been sent
+            return Mono.from(outbound.send(Flux.just(chunk)))
+                       .thenReturn(size);
+        }
+
+        private long toWrittenFileBytes(long writtenBytes) {
+            return Math.min(Math.max(writtenBytes - preamble.length, 0), fileSize);
+        }
+
+        Flux<ByteBuf> read(ByteBufAllocator allocator) {
+            return Flux.concat(Mono.fromCallable(() -> {
+                // The body is read again if the request is retried, so the digests have to start over
+                sha1 = createMessageDigest("SHA-1");
+                sha256 = createMessageDigest("SHA-256");
+                return allocator.buffer(preamble.length)
+                                .writeBytes(preamble);
+            }), readFile(allocator), Mono.fromCallable(() -> allocator.buffer(epilogue.length)
+                                                                        .writeBytes(epilogue)));
+        }
+
+        FileDigests getDigests() {
+            HexFormat hex = HexFormat.of();
+            return ImmutableFileDigests.builder()
+                                       .sha1(hex.formatHex(sha1.digest()))
+                                       .sha256(hex.formatHex(sha256.digest()))
+                                       .size(fileSize)
+                                       .build();
+        }
+
+        private Flux<ByteBuf> readFile(ByteBufAllocator allocator) {
+            return Flux.using(() -> FileChannel.open(file, StandardOpenOption.READ),
+                              channel -> Flux.<ByteBuf, Long> generate(() -> 0L, (position, sink) -> {
+                                  if (position >= fileSize) {
+                                      sink.complete();
+                                      return position;
+                                  }
+                                  ByteBuf chunk = allocator.directBuffer((int) Math.min(chunkSize, fileSize - position));
+                                  try {
+                                      int read = chunk.writeBytes(channel, position, chunk.capacity());
+                                      if (read < 0) {
+                                          throw new IOException("Unexpected end of file " + file);
+                                      }
+                                  } catch (IOException e) {
+                                      chunk.release();
+                                      sink.error(new UncheckedIOException(e));
+                                      return position;
+                                  }
+                                  sha1.update(chunk.nioBuffer());
+                                  sha256.update(chunk.nioBuffer());
+                                  sink.next(chunk);
+                                  return position + chunk.readableBytes();
+                              }), StreamingBitsUploader::closeQuietly);
+        }
+
+        private static MessageDigest createMessageDigest(String algorithm) {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing to do, the file was only read
+        }
+    }
+
+}
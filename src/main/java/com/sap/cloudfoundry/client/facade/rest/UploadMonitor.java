@@ -0,0 +1,216 @@
+package com.sap.cloudfoundry.client.facade.rest;
+
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sap.cloudfoundry.client.facade.Messages;
+import com.sap.cloudfoundry.client.facade.UploadStatusCallback;
+import com.sap.cloudfoundry.client.facade.domain.Status;
+import com.sap.cloudfoundry.client.facade.domain.Upload;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Monitors asynchronous package uploads. Each client has its own monitor, which the views created from it with {@code withTarget} share,
+ * and the statuses of all its uploads that are due for a check are fetched together. The checks of all monitors run on one shared
+ * scheduler. The polling period of every upload starts short and doubles after each check up to a maximum, so quick uploads are reported
+ * early while long ones do not flood the controller. The statuses are fetched without blocking the scheduler, which only runs the
+ * callbacks, and a failed status request is retried on the next check until it has failed too often in a row. The check times and failure
+ * counts of the uploads are only accessed while holding the lock of the monitor, the callbacks are run without holding it.
+ */
+class UploadMonitor {
+
+    static final Duration INITIAL_POLLING_PERIOD = Duration.ofMillis(500);
+    static final Duration MAX_POLLING_PERIOD = Duration.ofSeconds(5);
+    static final int MAX_FAILED_CHECKS = 5;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadMonitor.class);
+    private static final Scheduler SHARED_SCHEDULER = Schedulers.newBoundedElastic(2, Integer.MAX_VALUE, "upload-monitor", 60, true);
+
+    private final Function<List<UUID>, Mono<Map<UUID, Upload>>> uploadStatusesFetcher;
+    private final Scheduler scheduler;
+    private final long initialPollingPeriodInMillis;
+    private final long maxPollingPeriodInMillis;
+    private final Map<UUID, MonitoredUpload> uploads = new ConcurrentHashMap<>();
+    private Disposable nextCheck;
+    private long nextCheckAt = Long.MAX_VALUE;
+    private boolean isChecking;
+
+    UploadMonitor(Function<List<UUID>, Mono<Map<UUID, Upload>>> uploadStatusesFetcher) {
+        this(uploadStatusesFetcher, SHARED_SCHEDULER, INITIAL_POLLING_PERIOD, MAX_POLLING_PERIOD);
+    }
+
+    UploadMonitor(Function<List<UUID>, Mono<Map<UUID, Upload>>> uploadStatusesFetcher, Scheduler scheduler, Duration initialPollingPeriod,
+                  Duration maxPollingPeriod) {
+        this.uploadStatusesFetcher = uploadStatusesFetcher;
+        this.scheduler = scheduler;
+        this.initialPollingPeriodInMillis = initialPollingPeriod.toMillis();
+        this.maxPollingPeriodInMillis = maxPollingPeriod.toMillis();
+    }
+
+    void monitor(UUID packageGuid, UploadStatusCallback callback) {
+        long checkAt = now() + initialPollingPeriodInMillis;
+        uploads.put(packageGuid, new MonitoredUpload(callback, initialPollingPeriodInMillis, checkAt));
+        scheduleCheck(checkAt);
+    }
+
+    int getMonitoredUploadsCount() {
+        return uploads.size();
+    }
+
+    private synchronized void scheduleCheck(long checkAt) {
+        if (nextCheck != null && !nextCheck.isDisposed() && nextCheckAt <= checkAt) {
+            return;
+        }
+        if (nextCheck != null) {
+            nextCheck.dispose();
+        }
+        nextCheckAt = checkAt;
+        nextCheck = scheduler.schedule(this::checkDueUploads, Math.max(0, checkAt - now()), TimeUnit.MILLISECONDS);
+    }
+
+    private void checkDueUploads() {
+        List<UUID> dueUploads;
+        synchronized (this) {
+            nextCheck = null;
+            nextCheckAt = Long.MAX_VALUE;
+            if (isChecking) {
+                // The next check is scheduled once the running one has finished
+                return;
+            }
+            // Uploads which would be due shortly are checked along with the due ones, so that they share the same request
+            long dueBefore = now() + initialPollingPeriodInMillis;
+            dueUploads = uploads.entrySet()
+                                .stream()
+                                .filter(entry -> entry.getValue().nextCheckAt <= dueBefore)
+                                .map(Map.Entry::getKey)
+                                .collect(Collectors.toList());
+            if (dueUploads.isEmpty()) {
+                scheduleNextCheck();
+                return;
+            }
+            isChecking = true;
+        }
+        Mono.defer(() -> uploadStatusesFetcher.apply(dueUploads))
+            .defaultIfEmpty(Collections.emptyMap())
+            .publishOn(scheduler)
+            .doFinally(signal -> onCheckFinished())
+            .subscribe(statuses -> reportStatuses(dueUploads, statuses), error -> reportFailedCheck(dueUploads, error));
+    }
+
+    private synchronized void onCheckFinished() {
+        isChecking = false;
+        scheduleNextCheck();
+    }
+
+    private synchronized void scheduleNextCheck() {
+        uploads.values()
+               .stream()
+               .mapToLong(upload -> upload.nextCheckAt)
+               .min()
+               .ifPresent(this::scheduleCheck);
+    }
+
+    private void reportStatuses(List<UUID> packageGuids, Map<UUID, Upload> statuses) {
+        for (UUID packageGuid : packageGuids) {
+            Upload status = statuses.get(packageGuid);
+            resetFailedChecks(uploads.get(packageGuid));
+            report(packageGuid, upload -> status == null ? reportMissingPackage(upload, packageGuid) : reportStatus(upload, status));
+        }
+    }
+
+    private void reportFailedCheck(List<UUID> packageGuids, Throwable error) {
+        LOGGER.warn(MessageFormat.format(Messages.CHECKING_STATUS_OF_UPLOADS_0_FAILED_WITH_1, packageGuids, error.getMessage()), error);
+        for (UUID packageGuid : packageGuids) {
+            int failedChecks = countFailedCheck(uploads.get(packageGuid));
+            report(packageGuid, upload -> {
+                if (failedChecks < MAX_FAILED_CHECKS) {
+                    return false;
+                }
+                upload.callback.onError(error.getMessage());
+                return true;
+            });
+        }
+    }
+
+    private void report(UUID packageGuid, Function<MonitoredUpload, Boolean> reporter) {
+        MonitoredUpload upload = uploads.get(packageGuid);
+        boolean isDone;
+        try {
+            isDone = reporter.apply(upload);
+        } catch (RuntimeException e) {
+            LOGGER.warn(MessageFormat.format(Messages.UPLOAD_STATUS_CALLBACK_FOR_PACKAGE_0_FAILED_WITH_1, packageGuid, e.getMessage()), e);
+            isDone = true;
+        }
+        if (isDone) {
+            uploads.remove(packageGuid);
+            return;
+        }
+        postponeCheck(upload);
+    }
+
+    private synchronized void resetFailedChecks(MonitoredUpload upload) {
+        upload.failedChecks = 0;
+    }
+
+    private synchronized int countFailedCheck(MonitoredUpload upload) {
+        return ++upload.failedChecks;
+    }
+
+    private synchronized void postponeCheck(MonitoredUpload upload) {
+        upload.pollingPeriod = Math.min(upload.pollingPeriod * 2, maxPollingPeriodInMillis);
+        upload.nextCheckAt = now() + upload.pollingPeriod;
+    }
+
+    private boolean reportMissingPackage(MonitoredUpload upload, UUID packageGuid) {
+        upload.callback.onError(MessageFormat.format(Messages.PACKAGE_WITH_GUID_0_NOT_FOUND, packageGuid));
+        return true;
+    }
+
+    private boolean reportStatus(MonitoredUpload upload, Upload status) {
+        Status uploadStatus = status.getStatus();
+        boolean unsubscribe = upload.callback.onProgress(uploadStatus.toString());
+        if (unsubscribe || uploadStatus == Status.READY) {
+            return true;
+        }
+        if (uploadStatus == Status.EXPIRED || uploadStatus == Status.FAILED) {
+            upload.callback.onError(status.getErrorDetails()
+                                          .getDescription());
+            return true;
+        }
+        return false;
+    }
+
+    private long now() {
+        return scheduler.now(TimeUnit.MILLISECONDS);
+    }
+
+    private static class MonitoredUpload {
+
+        private final UploadStatusCallback callback;
+        private long pollingPeriod;
+        private long nextCheckAt;
+        private int failedChecks;
+
+        MonitoredUpload(UploadStatusCallback callback, long pollingPeriod, long nextCheckAt) {
+            this.callback = callback;
+            this.pollingPeriod = pollingPeriod;
+            this.nextCheckAt = nextCheckAt;
+        }
+    }
+
+}
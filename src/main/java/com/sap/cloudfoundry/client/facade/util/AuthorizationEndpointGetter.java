@@ -17,20 +17,19 @@ public class AuthorizationEndpointGetter {
     }
 
     public String getAuthorizationEndpoint(String controllerUrl) {
+        return ControllerDiscoveryCache.getHref(getLinks(controllerUrl), ControllerDiscoveryCache.LOGIN);
+    }
+
+    /**
+     * @return the links of the root document of the controller, or null if it has none
+     */
+    public Map<String, Object> getLinks(String controllerUrl) {
         String response = webClient.get()
                                    .uri(controllerUrl + "/")
                                    .retrieve()
                                    .bodyToMono(String.class)
                                    .block();
-        return getLoginHref(response);
-    }
-
-    @SuppressWarnings("unchecked")
-    private String getLoginHref(String response) {
-        Map<String, Object> resource = JsonUtil.convertJsonToMap(response);
-        Map<String, Object> links = (Map<String, Object>) resource.get("links");
-        Map<String, Object> login = (Map<String, Object>) links.get("login");
-        return (String) login.get("href");
+        return ControllerDiscoveryCache.extractLinks(JsonUtil.convertJsonToMap(response));
     }
 
 }
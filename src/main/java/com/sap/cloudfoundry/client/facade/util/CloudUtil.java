@@ -8,10 +8,13 @@ import java.util.Date;
 import java.util.Locale;
 import java.util.function.Supplier;
 
+import com.sap.cloudfoundry.client.facade.CloudOperationException;
 import com.sap.cloudfoundry.client.facade.Messages;
 
+import org.cloudfoundry.AbstractCloudFoundryException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 
 /**
  * Some helper utilities used by the Cloud Foundry Java client.
@@ -93,6 +96,14 @@ public class CloudUtil {
         return operation.get();
     }
 
+    /**
+     * @return the error reported by the cloud controller as a {@link CloudOperationException} with the same status code
+     */
+    public static CloudOperationException convertV3ClientException(AbstractCloudFoundryException e) {
+        HttpStatus httpStatus = HttpStatus.valueOf(e.getStatusCode());
+        return new CloudOperationException(httpStatus, httpStatus.getReasonPhrase(), e.getMessage(), e);
+    }
+
     public static void sleep(Duration duration) {
         try {
             Thread.sleep(duration.toMillis());
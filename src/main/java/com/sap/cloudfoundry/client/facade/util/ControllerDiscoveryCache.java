@@ -0,0 +1,133 @@
+package com.sap.cloudfoundry.client.facade.util;
+
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Links of the root documents of controllers, such as the v3 API, log-cache and login endpoints. They only change when a controller is
+ * reconfigured, so they are kept per controller for a fixed time to live and shared by all clients, instead of being requested again
+ * whenever a client is created. Links fetched without verifying the certificate of the controller are kept apart from verified ones, so
+ * that they are never handed to clients which verify certificates.
+ */
+public class ControllerDiscoveryCache {
+
+    public static final String CLOUD_CONTROLLER_V3 = "cloud_controller_v3";
+    public static final String LOG_CACHE = "log_cache";
+    public static final String LOGIN = "login";
+
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+    private static final ControllerDiscoveryCache SHARED = new ControllerDiscoveryCache(DEFAULT_TIME_TO_LIVE);
+
+    private final long timeToLiveInMillis;
+    private final Clock clock;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    public ControllerDiscoveryCache(Duration timeToLive) {
+        this(timeToLive, Clock.systemUTC());
+    }
+
+    ControllerDiscoveryCache(Duration timeToLive, Clock clock) {
+        this.timeToLiveInMillis = timeToLive.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * @return the cache used by the client factories and {@link RestUtil}
+     */
+    public static ControllerDiscoveryCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the links of the root document of the controller, loading them only if they are not cached or have expired. The loader must
+     * verify the certificate of the controller. Failures of the loader and missing links are not cached.
+     */
+    public Map<String, Object> getLinks(URL controllerUrl, Supplier<Map<String, Object>> loader) {
+        return getLinks(controllerUrl, false, loader);
+    }
+
+    /**
+     * Returns the links of the root document of the controller, loading them only if they are not cached or have expired. Failures of the
+     * loader and missing links are not cached.
+     *
+     * @param trustSelfSignedCertificates whether the loader trusts any certificate of the controller. Such links are only returned to
+     *        callers which trust any certificate as well, while verified links are returned to all callers.
+     */
+    public Map<String, Object> getLinks(URL controllerUrl, boolean trustSelfSignedCertificates, Supplier<Map<String, Object>> loader) {
+        Key key = toKey(controllerUrl, trustSelfSignedCertificates);
+        Map<String, Object> links = getCachedLinks(toKey(controllerUrl, false));
+        if (links == null && trustSelfSignedCertificates) {
+            links = getCachedLinks(key);
+        }
+        if (links != null) {
+            return links;
+        }
+        links = loader.get();
+        if (links == null) {
+            return null;
+        }
+        links = Collections.unmodifiableMap(new HashMap<>(links));
+        entries.put(key, new Entry(links, clock.millis() + timeToLiveInMillis));
+        return links;
+    }
+
+    /**
+     * @return the href of the link if verified links of the controller are cached and contain it, null otherwise
+     */
+    public String getCachedHref(URL controllerUrl, String linkName) {
+        return getHref(getCachedLinks(toKey(controllerUrl, false)), linkName);
+    }
+
+    public void invalidate(URL controllerUrl) {
+        entries.remove(toKey(controllerUrl, false));
+        entries.remove(toKey(controllerUrl, true));
+    }
+
+    /**
+     * @return the links of the given root document of a controller, or null if it has none
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> extractLinks(Map<String, Object> rootDocument) {
+        if (rootDocument != null && rootDocument.get("links") instanceof Map<?, ?> links) {
+            return (Map<String, Object>) links;
+        }
+        return null;
+    }
+
+    public static String getHref(Map<String, Object> links, String linkName) {
+        if (links != null && links.get(linkName) instanceof Map<?, ?> link && link.get("href") instanceof String href) {
+            return href;
+        }
+        return null;
+    }
+
+    private Map<String, Object> getCachedLinks(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= clock.millis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.links;
+    }
+
+    private static Key toKey(URL controllerUrl, boolean trustSelfSignedCertificates) {
+        String url = controllerUrl.toString();
+        return new Key(url.endsWith("/") ? url.substring(0, url.length() - 1) : url, trustSelfSignedCertificates);
+    }
+
+    private record Key(String controllerUrl, boolean trustSelfSignedCertificates) {
+    }
+
+    private record Entry(Map<String, Object> links, long expiresAt) {
+    }
+
+}
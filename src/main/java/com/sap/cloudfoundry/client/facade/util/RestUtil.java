@@ -4,6 +4,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
+import java.util.Map;
 
 import javax.net.ssl.SSLException;
 import javax.net.ssl.X509TrustManager;
@@ -13,6 +14,7 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.sap.cloudfoundry.client.facade.Messages;
 import com.sap.cloudfoundry.client.facade.oauth2.OAuthClient;
 
 import io.netty.handler.ssl.SslContext;
@@ -29,13 +31,21 @@ public class RestUtil {
 
     public OAuthClient createOAuthClientByControllerUrl(URL controllerUrl, boolean shouldTrustSelfSignedCertificates) {
         WebClient webClient = createWebClient(shouldTrustSelfSignedCertificates);
-        URL authorizationUrl = getAuthorizationUrl(controllerUrl, webClient);
+        URL authorizationUrl = getAuthorizationUrl(controllerUrl, shouldTrustSelfSignedCertificates, webClient);
         return new OAuthClient(authorizationUrl, webClient);
     }
 
-    private URL getAuthorizationUrl(URL controllerUrl, WebClient webClient) {
+    private URL getAuthorizationUrl(URL controllerUrl, boolean shouldTrustSelfSignedCertificates, WebClient webClient) {
         AuthorizationEndpointGetter authorizationEndpointGetter = new AuthorizationEndpointGetter(webClient);
-        return getAuthorizationUrl(authorizationEndpointGetter.getAuthorizationEndpoint(controllerUrl.toString()));
+        Map<String, Object> links = ControllerDiscoveryCache.shared()
+                                                            .getLinks(controllerUrl, shouldTrustSelfSignedCertificates,
+                                                                      () -> authorizationEndpointGetter.getLinks(controllerUrl.toString()));
+        String authorizationEndpoint = ControllerDiscoveryCache.getHref(links, ControllerDiscoveryCache.LOGIN);
+        if (authorizationEndpoint == null) {
+            throw new IllegalArgumentException(MessageFormat.format(Messages.CONTROLLER_0_DOES_NOT_ADVERTISE_A_LOGIN_ENDPOINT,
+                                                                    controllerUrl));
+        }
+        return getAuthorizationUrl(authorizationEndpoint);
     }
 
     private URL getAuthorizationUrl(String authorizationEndpoint) {
@@ -14,12 +14,15 @@ open module com.sap.cloudfoundry.client.facade {
     requires spring.web;
     requires spring.webflux;
     requires reactor.core;
+    requires io.netty.buffer;
     requires io.netty.handler;
+    requires io.netty.transport;
+    requires io.netty.codec.http;
     requires reactor.netty.core;
     requires reactor.netty.http;
     requires org.apache.commons.logging;
     requires org.reactivestreams;
-    requires java.net.http;
+    requires micrometer.core;
 
     requires static java.compiler;
     requires static org.immutables.value;
@@ -0,0 +1,179 @@
+package com.sap.cloudfoundry.client.facade.adapters;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.ProxyConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.sap.cloudfoundry.client.facade.CloudOperationException;
+import com.sap.cloudfoundry.client.facade.oauth2.OAuthClient;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClientConfig;
+
+class CloudFoundryClientFactoryTest {
+
+    private static final String CONTROLLER_HOST = "api.example.com";
+    private static final String ROOT_DOCUMENT = "{\"links\":{\"cloud_controller_v3\":{\"href\":\"http://localhost/v3\"}}}";
+
+    private DisposableServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void testConnectionPoolIsConfigured() {
+        CloudFoundryClientFactory factory = ImmutableCloudFoundryClientFactory.builder()
+                                                                              .connectionPoolSize(200)
+                                                                              .connectionMaxIdleTime(Duration.ofSeconds(30))
+                                                                              .connectionEvictionInterval(Duration.ofSeconds(10))
+                                                                              .pendingAcquireMaxCount(1000)
+                                                                              .shouldUseHttp2(true)
+                                                                              .build();
+
+        HttpClientConfig configuration = factory.getOrCreateConnectionContext(CONTROLLER_HOST)
+                                                .getHttpClient()
+                                                .configuration();
+
+        assertArrayEquals(new HttpProtocol[] { HttpProtocol.H2, HttpProtocol.HTTP11 }, configuration.protocols());
+        assertEquals(200, configuration.connectionProvider()
+                                       .maxConnections());
+    }
+
+    @Test
+    void testConfiguredHttpClientKeepsConnectionContextOptions() {
+        CloudFoundryClientFactory factory = ImmutableCloudFoundryClientFactory.builder()
+                                                                              .connectionMaxLifeTime(Duration.ofMinutes(5))
+                                                                              .proxyConfiguration(ProxyConfiguration.builder()
+                                                                                                                    .host("proxy.example.com")
+                                                                                                                    .port(8080)
+                                                                                                                    .build())
+                                                                              .build();
+
+        HttpClientConfig configuration = factory.getOrCreateConnectionContext(CONTROLLER_HOST)
+                                                .getHttpClient()
+                                                .configuration();
+
+        assertTrue(configuration.hasProxy());
+        assertEquals(10 * 1024 * 1024, configuration.options()
+                                                    .get(ChannelOption.SO_SNDBUF));
+        assertEquals(10 * 1024 * 1024, configuration.options()
+                                                    .get(ChannelOption.SO_RCVBUF));
+        assertNotNull(configuration.loggingHandler());
+    }
+
+    @Test
+    void testDisposeReleasesConnectionContexts() {
+        CloudFoundryClientFactory factory = ImmutableCloudFoundryClientFactory.builder()
+                                                                              .connectionMaxLifeTime(Duration.ofMinutes(5))
+                                                                              .build();
+        HttpClientConfig configuration = factory.getOrCreateConnectionContext(CONTROLLER_HOST)
+                                                .getHttpClient()
+                                                .configuration();
+        ConnectionContext connectionContext = factory.getOrCreateConnectionContext(CONTROLLER_HOST);
+
+        factory.dispose();
+
+        assertTrue(configuration.connectionProvider()
+                                .isDisposed());
+        assertNotSame(connectionContext, factory.getOrCreateConnectionContext(CONTROLLER_HOST));
+    }
+
+    @Test
+    void testConnectionContextIsCreatedOncePerHost() {
+        CloudFoundryClientFactory factory = ImmutableCloudFoundryClientFactory.builder()
+                                                                              .connectionMaxLifeTime(Duration.ofMinutes(5))
+                                                                              .build();
+
+        assertSame(factory.getOrCreateConnectionContext(CONTROLLER_HOST), factory.getOrCreateConnectionContext(CONTROLLER_HOST));
+    }
+
+    @Test
+    void testCfRootIsFetchedWithRequestTags() throws Exception {
+        server = HttpServer.create()
+                           .host("localhost")
+                           .handle((request, response) -> response.status("tag".equals(request.requestHeaders()
+                                                                                               .get("X-Tag"))
+                               ? HttpResponseStatus.OK
+                               : HttpResponseStatus.BAD_REQUEST)
+                                                                  .sendString(Mono.just(ROOT_DOCUMENT)))
+                           .bindNow();
+        CloudFoundryClientFactory factory = ImmutableCloudFoundryClientFactory.builder()
+                                                                              .build();
+
+        Map<String, Object> links = factory.callCfRoot(getServerUrl(), Map.of("X-Tag", "tag"));
+
+        assertEquals(Map.of("href", "http://localhost/v3"), links.get("cloud_controller_v3"));
+    }
+
+    @Test
+    void testCfRootFailureIsReportedWithStatus() throws Exception {
+        startServer(HttpResponseStatus.SERVICE_UNAVAILABLE, "maintenance");
+        CloudFoundryClientFactory factory = ImmutableCloudFoundryClientFactory.builder()
+                                                                              .build();
+        URL serverUrl = getServerUrl();
+
+        CloudOperationException exception = assertThrows(CloudOperationException.class, () -> factory.callCfRoot(serverUrl, Map.of()));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        assertEquals("maintenance", exception.getDescription());
+    }
+
+    @Test
+    void testRootDocumentIsFetchedOnceForSeveralSpaceClients() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        server = HttpServer.create()
+                           .host("localhost")
+                           .handle((request, response) -> {
+                               requests.incrementAndGet();
+                               return response.sendString(Mono.just(ROOT_DOCUMENT));
+                           })
+                           .bindNow();
+        CloudFoundryClientFactory factory = ImmutableCloudFoundryClientFactory.builder()
+                                                                              .build();
+        OAuthClient oAuthClient = new OAuthClient(getServerUrl(), null);
+
+        factory.createSpaceClient(getServerUrl(), oAuthClient, Map.of());
+        factory.createSpaceClient(getServerUrl(), oAuthClient, Map.of());
+
+        assertEquals(1, requests.get());
+    }
+
+    private void startServer(HttpResponseStatus status, String body) {
+        server = HttpServer.create()
+                           .host("localhost")
+                           .handle((request, response) -> response.status(status)
+                                                                  .sendString(Mono.just(body)))
+                           .bindNow();
+    }
+
+    private URL getServerUrl() throws MalformedURLException {
+        return new URL("http://localhost:" + server.port());
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.sap.cloudfoundry.client.facade.adapters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Map;
+
+import org.cloudfoundry.logcache.v1.Envelope;
+import org.cloudfoundry.logcache.v1.Log;
+import org.cloudfoundry.logcache.v1.LogType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.sap.cloudfoundry.client.facade.domain.ApplicationLog;
+
+class EnvelopeDecoderTest {
+
+    private final EnvelopeDecoder decoder = new EnvelopeDecoder();
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "a", "ab", "abc", "abcd", "Grüße, 世界 🌍", "multi\nline\tmessage" })
+    void testPayloadIsDecoded(String message) {
+        assertEquals(message, decoder.decodePayload(encode(message)));
+    }
+
+    @Test
+    void testPayloadLargerThanBufferIsDecoded() {
+        String message = "x".repeat(10_000);
+
+        assertEquals("short", decoder.decodePayload(encode("short")));
+        assertEquals(message, decoder.decodePayload(encode(message)));
+        assertEquals("short", decoder.decodePayload(encode("short")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "not base64!", "YWJj=ZGVm", "YWJjZ", "YW=", "YWJjZA=x", "w4k€" })
+    void testInvalidPayloadIsRejected(String payload) {
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodePayload(payload));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0L, 1L, 999_999_999L, 1_000_000_000L, 1_700_000_000_123_456_789L, -1L, -1_500_000_000L })
+    void testTimestampIsConverted(long timestampNanos) {
+        Duration duration = Duration.ofNanos(timestampNanos);
+        LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochSecond(duration.getSeconds(), duration.getNano()), ZoneId.of("UTC"));
+
+        assertEquals(expected, EnvelopeDecoder.toTimestamp(timestampNanos));
+    }
+
+    @Test
+    void testEnvelopeIsDecoded() {
+        Envelope envelope = Envelope.builder()
+                                    .sourceId("app-guid")
+                                    .timestamp(1_000_000_001L)
+                                    .tags(Map.of("source_type", "APP/PROC/WEB"))
+                                    .log(Log.builder()
+                                            .payload(encode("failure"))
+                                            .type(LogType.ERR)
+                                            .build())
+                                    .build();
+
+        ApplicationLog log = decoder.decode(envelope);
+
+        assertEquals("app-guid", log.getApplicationGuid());
+        assertEquals("failure", log.getMessage());
+        assertEquals(LocalDateTime.of(1970, 1, 1, 0, 0, 1, 1), log.getTimestamp());
+        assertEquals(ApplicationLog.MessageType.STDERR, log.getMessageType());
+        assertEquals("APP/PROC/WEB", log.getSourceName());
+    }
+
+    private static String encode(String message) {
+        return Base64.getEncoder()
+                     .encodeToString(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.sap.cloudfoundry.client.facade.adapters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.cloudfoundry.logcache.v1.Envelope;
+import org.cloudfoundry.logcache.v1.EnvelopeBatch;
+import org.cloudfoundry.logcache.v1.Log;
+import org.cloudfoundry.logcache.v1.LogType;
+import org.cloudfoundry.logcache.v1.ReadRequest;
+import org.cloudfoundry.logcache.v1.ReadResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.sap.cloudfoundry.client.facade.ApplicationLogListener;
+import com.sap.cloudfoundry.client.facade.domain.ApplicationLog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class LogCacheClientTest {
+
+    private static final UUID APPLICATION_GUID = UUID.randomUUID();
+    private static final LocalDateTime OFFSET = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final org.cloudfoundry.logcache.v1.LogCacheClient delegate = Mockito.mock(org.cloudfoundry.logcache.v1.LogCacheClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LogCacheClient logCacheClient = new LogCacheClient(delegate, meterRegistry);
+
+    @Test
+    void testRecentLogsAreReturnedInChronologicalOrder() {
+        Mockito.when(delegate.read(Mockito.any()))
+               .thenReturn(Mono.just(buildResponse(buildEnvelope("second", 2000), buildEnvelope("first", 1000))));
+
+        List<ApplicationLog> logs = logCacheClient.getRecentLogs(APPLICATION_GUID, OFFSET);
+
+        assertEquals(List.of("first", "second"), logs.stream()
+                                                     .map(ApplicationLog::getMessage)
+                                                     .toList());
+    }
+
+    @Test
+    void testRecentLogsOfApplicationsAreMergedByTimestamp() {
+        UUID otherApplicationGuid = UUID.randomUUID();
+        Mockito.when(delegate.read(Mockito.any()))
+               .thenAnswer(invocation -> {
+                   ReadRequest request = invocation.getArgument(0);
+                   if (request.getSourceId()
+                              .equals(APPLICATION_GUID.toString())) {
+                       return Mono.just(buildResponse(buildEnvelope("a3", 5000), buildEnvelope("a2", 3000), buildEnvelope("a1", 1000)));
+                   }
+                   return Mono.just(buildResponse(buildEnvelope("b2", 4000), buildEnvelope("b1", 2000)));
+               });
+
+        List<ApplicationLog> logs = logCacheClient.getRecentLogs(List.of(APPLICATION_GUID, otherApplicationGuid), OFFSET);
+
+        assertEquals(List.of("a1", "b1", "a2", "b2", "a3"), logs.stream()
+                                                                .map(ApplicationLog::getMessage)
+                                                                .toList());
+    }
+
+    @Test
+    void testReadLatencyIsRecorded() {
+        Mockito.when(delegate.read(Mockito.any()))
+               .thenReturn(Mono.just(buildResponse()))
+               .thenReturn(Mono.just(buildResponse()))
+               .thenReturn(Mono.error(new IllegalStateException("unavailable")));
+
+        logCacheClient.getRecentLogs(APPLICATION_GUID, OFFSET);
+        logCacheClient.getRecentLogs(APPLICATION_GUID, OFFSET);
+        assertThrows(IllegalStateException.class, () -> logCacheClient.getRecentLogs(APPLICATION_GUID, OFFSET));
+
+        assertEquals(2, getTimerCount("success"));
+        assertEquals(1, getTimerCount("error"));
+    }
+
+    @Test
+    void testStreamedLogsAreDeliveredOnceAcrossBatches() throws InterruptedException {
+        long start = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) + TimeUnit.HOURS.toNanos(1);
+        Envelope first = buildEnvelope("first", start);
+        Envelope second = buildEnvelope("second", start + 1);
+        Envelope third = buildEnvelope("third", start + 1);
+        List<ReadRequest> requests = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger reads = new AtomicInteger();
+        Mockito.when(delegate.read(Mockito.any()))
+               .thenAnswer(invocation -> {
+                   requests.add(invocation.getArgument(0));
+                   return switch (reads.getAndIncrement()) {
+                       case 0 -> Mono.just(buildResponse(first, second));
+                       case 1 -> Mono.just(buildResponse(second, third));
+                       default -> Mono.just(buildResponse());
+                   };
+               });
+        RecordingListener listener = new RecordingListener(3);
+
+        Disposable stream = logCacheClient.streamApplicationLogs(APPLICATION_GUID, listener, Duration.ofMillis(10),
+                                                                 Schedulers.boundedElastic());
+        listener.awaitMessages();
+        stream.dispose();
+
+        assertEquals(List.of("first", "second", "third"), listener.messages);
+        assertEquals(start + 1, requests.get(1)
+                                        .getStartTime());
+        assertTrue(listener.completed);
+    }
+
+    @Test
+    void testLogsOfWindowAreReadInPages() {
+        LocalDateTime to = OFFSET.plusMinutes(2);
+        long startTime = TimeUnit.SECONDS.toNanos(OFFSET.toEpochSecond(ZoneOffset.UTC));
+        long step = TimeUnit.MINUTES.toNanos(2) / 2500;
+        List<Envelope> storedEnvelopes = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            storedEnvelopes.add(buildEnvelope(Integer.toString(i), startTime + i * step));
+        }
+        Mockito.when(delegate.read(Mockito.any()))
+               .thenAnswer(invocation -> {
+                   ReadRequest request = invocation.getArgument(0);
+                   return Mono.just(buildResponse(storedEnvelopes.stream()
+                                                                 .filter(envelope -> envelope.getTimestamp() >= request.getStartTime()
+                                                                     && envelope.getTimestamp() < request.getEndTime())
+                                                                 .limit(request.getLimit())
+                                                                 .toArray(Envelope[]::new)));
+               });
+
+        List<String> messages = logCacheClient.getApplicationLogs(APPLICATION_GUID, OFFSET, to)
+                                              .map(ApplicationLog::getMessage)
+                                              .collectList()
+                                              .block();
+
+        assertEquals(IntStream.range(0, 2500)
+                              .mapToObj(Integer::toString)
+                              .toList(), messages);
+    }
+
+    private long getTimerCount(String outcome) {
+        return meterRegistry.get(LogCacheClient.READ_TIMER_NAME)
+                            .tag("outcome", outcome)
+                            .timer()
+                            .count();
+    }
+
+    private static class RecordingListener implements ApplicationLogListener {
+
+        private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch expectedMessages;
+        private volatile boolean completed;
+
+        RecordingListener(int expectedMessagesCount) {
+            this.expectedMessages = new CountDownLatch(expectedMessagesCount);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        @Override
+        public void onError(Throwable exception) {
+        }
+
+        @Override
+        public void onMessage(ApplicationLog log) {
+            messages.add(log.getMessage());
+            expectedMessages.countDown();
+        }
+
+        void awaitMessages() throws InterruptedException {
+            assertTrue(expectedMessages.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static ReadResponse buildResponse(Envelope... envelopes) {
+        return ReadResponse.builder()
+                           .envelopes(EnvelopeBatch.builder()
+                                                   .batch(envelopes)
+                                                   .build())
+                           .build();
+    }
+
+    private static Envelope buildEnvelope(String message, long timestamp) {
+        return Envelope.builder()
+                       .sourceId(APPLICATION_GUID.toString())
+                       .timestamp(timestamp)
+                       .tags(Map.of("source_type", "APP/PROC/WEB"))
+                       .log(Log.builder()
+                               .payload(Base64.getEncoder()
+                                              .encodeToString(message.getBytes(StandardCharsets.UTF_8)))
+                               .type(LogType.OUT)
+                               .build())
+                       .build();
+    }
+
+}
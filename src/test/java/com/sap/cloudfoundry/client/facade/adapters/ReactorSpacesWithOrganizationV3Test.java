@@ -0,0 +1,132 @@
+package com.sap.cloudfoundry.client.facade.adapters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.cloudfoundry.reactor.DefaultConnectionContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.cloudfoundry.client.facade.adapters.ReactorSpacesWithOrganizationV3.SpaceWithOrganization;
+import com.sap.cloudfoundry.client.facade.adapters.ReactorSpacesWithOrganizationV3.SpacesWithOrganizations;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+class ReactorSpacesWithOrganizationV3Test {
+
+    private static final String SPACE_GUID = "7a4d7b4e-0b1c-4c5f-9d0e-5bde3c3fa7f1";
+    private static final String ORG_GUID = "0f1e2d3c-4b5a-4968-8776-655443322110";
+    private static final String OTHER_ORG_GUID = "1a2b3c4d-5e6f-4a7b-8c9d-0e1f2a3b4c5d";
+
+    private final List<String> requestedUris = new CopyOnWriteArrayList<>();
+    private DisposableServer server;
+    private DefaultConnectionContext connectionContext;
+
+    @AfterEach
+    void tearDown() {
+        if (connectionContext != null) {
+            connectionContext.dispose();
+        }
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void testGetIncludesOrganization() {
+        ReactorSpacesWithOrganizationV3 client = createClient(space(SPACE_GUID, "dev", ORG_GUID) + ",\"included\":{\"organizations\":["
+            + organization(ORG_GUID, "org") + "]}");
+
+        SpaceWithOrganization spaceWithOrg = client.get(SPACE_GUID)
+                                                   .block();
+
+        assertEquals("dev", spaceWithOrg.space()
+                                        .getName());
+        assertEquals("org", spaceWithOrg.organization()
+                                        .getName());
+        assertEquals(List.of("/v3/spaces/" + SPACE_GUID + "?include=organization"), requestedUris);
+    }
+
+    @Test
+    void testGetWithoutIncludedOrganization() {
+        ReactorSpacesWithOrganizationV3 client = createClient(space(SPACE_GUID, "dev", ORG_GUID));
+
+        SpaceWithOrganization spaceWithOrg = client.get(SPACE_GUID)
+                                                   .block();
+
+        assertEquals(SPACE_GUID, spaceWithOrg.space()
+                                             .getId());
+        assertNull(spaceWithOrg.organization());
+    }
+
+    @Test
+    void testListMatchesSpacesWithTheirOrganizations() {
+        ReactorSpacesWithOrganizationV3 client = createClient("\"pagination\":{\"total_results\":2,\"next\":null},\"resources\":[{"
+            + space(SPACE_GUID, "dev", ORG_GUID) + "},{" + space(OTHER_ORG_GUID, "dev", OTHER_ORG_GUID)
+            + "}],\"included\":{\"organizations\":[" + organization(ORG_GUID, "org") + "," + organization(OTHER_ORG_GUID, "other-org")
+            + "]}");
+
+        SpacesWithOrganizations spacesWithOrgs = client.list("dev")
+                                                       .block();
+
+        assertTrue(spacesWithOrgs.isComplete());
+        assertEquals(List.of("org", "other-org"), spacesWithOrgs.spaces()
+                                                                .stream()
+                                                                .map(spaceWithOrg -> spaceWithOrg.organization()
+                                                                                                 .getName())
+                                                                .toList());
+        assertEquals(1, requestedUris.size());
+        assertTrue(requestedUris.get(0)
+                                .contains("names=dev"));
+        assertTrue(requestedUris.get(0)
+                                .contains("include=organization"));
+    }
+
+    @Test
+    void testListReportsFurtherPages() {
+        ReactorSpacesWithOrganizationV3 client = createClient("\"pagination\":{\"total_results\":1,\"next\":{\"href\":\"http://localhost/v3/spaces?page=2\"}},\"resources\":[]");
+
+        assertFalse(client.list("dev")
+                          .block()
+                          .isComplete());
+    }
+
+    private ReactorSpacesWithOrganizationV3 createClient(String responseFields) {
+        server = HttpServer.create()
+                           .host("localhost")
+                           .handle((request, response) -> {
+                               requestedUris.add(request.uri());
+                               return response.header("Content-Type", "application/json")
+                                              .sendString(Mono.just("{" + responseFields + "}"));
+                           })
+                           .bindNow();
+        connectionContext = DefaultConnectionContext.builder()
+                                                    .apiHost("localhost")
+                                                    .port(server.port())
+                                                    .secure(false)
+                                                    .build();
+        return new ReactorSpacesWithOrganizationV3(connectionContext, Mono.just("http://localhost:" + server.port() + "/v3"),
+                                                   context -> Mono.just("bearer token"), Map.of());
+    }
+
+    private static String space(String guid, String name, String orgGuid) {
+        return "\"guid\":\"" + guid + "\",\"name\":\"" + name + "\",\"created_at\":\"2024-01-01T00:00:00Z\","
+            + "\"updated_at\":\"2024-01-01T00:00:00Z\",\"relationships\":{\"organization\":{\"data\":{\"guid\":\"" + orgGuid + "\"}}},"
+            + "\"metadata\":{\"labels\":{},\"annotations\":{}},\"links\":{}";
+    }
+
+    private static String organization(String guid, String name) {
+        return "{\"guid\":\"" + guid + "\",\"name\":\"" + name + "\",\"created_at\":\"2024-01-01T00:00:00Z\","
+            + "\"updated_at\":\"2024-01-01T00:00:00Z\",\"suspended\":false,"
+            + "\"relationships\":{\"quota\":{\"data\":{\"guid\":\"quota\"}}},\"metadata\":{\"labels\":{},\"annotations\":{}},\"links\":{}}";
+    }
+
+}
@@ -0,0 +1,334 @@
+package com.sap.cloudfoundry.client.facade.oauth2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.sap.cloudfoundry.client.facade.CloudCredentials;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+class OAuthClientTest {
+
+    private static final int CONCURRENT_CALLERS = 10;
+
+    private final Scheduler refreshScheduler = Schedulers.newBoundedElastic(1, Integer.MAX_VALUE, "oauth-client-test");
+
+    @AfterEach
+    void tearDown() {
+        refreshScheduler.dispose();
+    }
+
+    @Test
+    void testExpiringTokenIsRefreshedOnceForConcurrentCallers() throws Exception {
+        TestOAuthClient oAuthClient = new TestOAuthClient(Duration.ofSeconds(10), Duration.ofHours(1));
+        oAuthClient.init(new CloudCredentials("user", "password"));
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<OAuth2AccessTokenWithAdditionalInfo>> tokens = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+            tokens.add(executor.submit(() -> {
+                start.await();
+                return oAuthClient.getToken();
+            }));
+        }
+        start.countDown();
+
+        OAuth2AccessTokenWithAdditionalInfo refreshedToken = tokens.get(0)
+                                                                   .get(5, TimeUnit.SECONDS);
+        for (Future<OAuth2AccessTokenWithAdditionalInfo> token : tokens) {
+            assertSame(refreshedToken, token.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(2, oAuthClient.createdTokens.get());
+    }
+
+    @Test
+    void testBlockingAndReactiveCallersOfClientsWithSameCredentialsShareOneRefresh() throws Exception {
+        TokenCache tokenCache = new TokenCache();
+        TestOAuthClient oAuthClient = new TestOAuthClient(tokenCache, Duration.ofSeconds(10), Duration.ofHours(1));
+        TestOAuthClient otherOAuthClient = new TestOAuthClient(tokenCache, Duration.ofSeconds(10), Duration.ofHours(1));
+        oAuthClient.init(new CloudCredentials("user", "password"));
+        otherOAuthClient.init(new CloudCredentials("user", "password"));
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<OAuth2AccessTokenWithAdditionalInfo>> tokens = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+            boolean blocking = i % 2 == 0;
+            tokens.add(executor.submit(() -> {
+                start.await();
+                return blocking ? oAuthClient.getToken()
+                    : otherOAuthClient.getTokenReactively()
+                                      .block();
+            }));
+        }
+        start.countDown();
+
+        OAuth2AccessTokenWithAdditionalInfo refreshedToken = tokens.get(0)
+                                                                   .get(5, TimeUnit.SECONDS);
+        for (Future<OAuth2AccessTokenWithAdditionalInfo> token : tokens) {
+            assertSame(refreshedToken, token.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(3, oAuthClient.createdTokens.get() + otherOAuthClient.createdTokens.get());
+    }
+
+    @Test
+    void testTokenIsRefreshedBeforeItExpires() throws InterruptedException {
+        TestOAuthClient oAuthClient = new TestOAuthClient(Duration.ofMillis(400), Duration.ofHours(1));
+        oAuthClient.init(new CloudCredentials("user", "password"));
+
+        assertTrue(oAuthClient.secondToken.await(5, TimeUnit.SECONDS));
+        assertEquals(2, oAuthClient.createdTokens.get());
+    }
+
+    @Test
+    void testTokenIsNotRefreshedAfterClear() throws InterruptedException {
+        TestOAuthClient oAuthClient = new TestOAuthClient(Duration.ofMillis(400), Duration.ofHours(1));
+        oAuthClient.init(new CloudCredentials("user", "password"));
+
+        oAuthClient.clear();
+
+        assertFalse(oAuthClient.secondToken.await(1, TimeUnit.SECONDS));
+        assertEquals(1, oAuthClient.createdTokens.get());
+    }
+
+    @Test
+    void testTokenIsNotRefreshedAfterClose() throws InterruptedException {
+        TestOAuthClient oAuthClient = new TestOAuthClient(Duration.ofMillis(400), Duration.ofHours(1));
+        oAuthClient.init(new CloudCredentials("user", "password"));
+
+        oAuthClient.close();
+
+        assertFalse(oAuthClient.secondToken.await(1, TimeUnit.SECONDS));
+        assertEquals(1, oAuthClient.createdTokens.get());
+        // The expired token is still refreshed on demand
+        assertEquals("token-1", oAuthClient.getToken()
+                                           .getOAuth2AccessToken()
+                                           .getTokenValue());
+    }
+
+    @Test
+    void testUnusedTokenIsNotRefreshedForever() throws InterruptedException {
+        TestOAuthClient oAuthClient = new TestOAuthClient(Duration.ofMillis(600));
+        oAuthClient.init(new CloudCredentials("user", "password"));
+
+        Thread.sleep(2000);
+
+        assertEquals(2, oAuthClient.createdTokens.get());
+    }
+
+    @Test
+    void testTokenIsRenewedWithRefreshToken() {
+        RecordingOAuthClient oAuthClient = new RecordingOAuthClient(false);
+        oAuthClient.init(new CloudCredentials("user", "password"));
+
+        oAuthClient.createToken();
+
+        assertEquals(List.of("password", "refresh_token"), oAuthClient.grantTypes);
+        assertEquals("refresh-token-0", oAuthClient.formData.get(1)
+                                                            .getFirst("refresh_token"));
+    }
+
+    @Test
+    void testPasswordGrantIsUsedWhenRefreshTokenIsRejected() {
+        RecordingOAuthClient oAuthClient = new RecordingOAuthClient(true);
+        oAuthClient.init(new CloudCredentials("user", "password"));
+
+        OAuth2AccessTokenWithAdditionalInfo token = oAuthClient.createToken();
+
+        assertEquals(List.of("password", "refresh_token", "password"), oAuthClient.grantTypes);
+        assertEquals("refresh-token-2", token.getRefreshToken()
+                                             .getTokenValue());
+    }
+
+    @Test
+    void testClientsWithSameCredentialsShareToken() {
+        TokenCache tokenCache = new TokenCache();
+        RecordingOAuthClient oAuthClient = new RecordingOAuthClient(false, tokenCache);
+        RecordingOAuthClient otherOAuthClient = new RecordingOAuthClient(false, tokenCache);
+
+        oAuthClient.init(new CloudCredentials("user", "password"));
+        otherOAuthClient.init(new CloudCredentials("user", "password"));
+
+        assertSame(oAuthClient.getToken(), otherOAuthClient.getToken());
+        assertEquals(1, oAuthClient.grantTypes.size());
+        assertTrue(otherOAuthClient.grantTypes.isEmpty());
+    }
+
+    @Test
+    void testClientsWithDifferentPasswordsDoNotShareToken() {
+        TokenCache tokenCache = new TokenCache();
+        RecordingOAuthClient oAuthClient = new RecordingOAuthClient(false, tokenCache);
+        RecordingOAuthClient otherOAuthClient = new RecordingOAuthClient(false, tokenCache);
+
+        oAuthClient.init(new CloudCredentials("user", "password"));
+        otherOAuthClient.init(new CloudCredentials("user", "other-password"));
+
+        assertEquals(List.of("password"), oAuthClient.grantTypes);
+        assertEquals(List.of("password"), otherOAuthClient.grantTypes);
+    }
+
+    @Test
+    void testValidTokenIsEmittedWithoutRequest() {
+        RecordingOAuthClient oAuthClient = new RecordingOAuthClient(false);
+        oAuthClient.init(new CloudCredentials("user", "password"));
+
+        assertSame(oAuthClient.getToken(), oAuthClient.getTokenReactively()
+                                                      .block());
+        assertEquals(List.of("password"), oAuthClient.grantTypes);
+    }
+
+    @Test
+    void testExpiringTokenIsRefreshedReactivelyOnceForConcurrentSubscribers() {
+        RecordingOAuthClient oAuthClient = new RecordingOAuthClient(false, new TokenCache(), Duration.ofSeconds(10));
+        oAuthClient.init(new CloudCredentials("user", "password"));
+
+        Mono<OAuth2AccessTokenWithAdditionalInfo> token = oAuthClient.getTokenReactively();
+        Mono<OAuth2AccessTokenWithAdditionalInfo> otherToken = oAuthClient.getTokenReactively();
+
+        OAuth2AccessTokenWithAdditionalInfo refreshedToken = token.block();
+        assertSame(refreshedToken, otherToken.block());
+        assertSame(refreshedToken, oAuthClient.token);
+        assertEquals(List.of("password", "refresh_token"), oAuthClient.grantTypes);
+    }
+
+    @Test
+    void testPasswordGrantIsUsedReactivelyWhenRefreshTokenIsRejected() {
+        RecordingOAuthClient oAuthClient = new RecordingOAuthClient(true, new TokenCache(), Duration.ofSeconds(10));
+        oAuthClient.init(new CloudCredentials("user", "password"));
+
+        OAuth2AccessTokenWithAdditionalInfo token = oAuthClient.getTokenReactively()
+                                                               .block();
+
+        assertEquals(List.of("password", "refresh_token", "password"), oAuthClient.grantTypes);
+        assertEquals("refresh-token-2", token.getRefreshToken()
+                                             .getTokenValue());
+    }
+
+    @Test
+    void testOverriddenCreateTokenIsUsedReactively() {
+        TestOAuthClient oAuthClient = new TestOAuthClient(Duration.ofSeconds(10), Duration.ofHours(1));
+        oAuthClient.init(new CloudCredentials("user", "password"));
+
+        OAuth2AccessTokenWithAdditionalInfo token = oAuthClient.getTokenReactively()
+                                                               .block();
+
+        assertEquals("token-1", token.getOAuth2AccessToken()
+                                     .getTokenValue());
+        assertEquals(2, oAuthClient.createdTokens.get());
+    }
+
+    private class RecordingOAuthClient extends OAuthClient {
+
+        private final boolean rejectRefreshTokens;
+        private final Duration lifetime;
+        private final List<String> grantTypes = new ArrayList<>();
+        private final List<MultiValueMap<String, String>> formData = new ArrayList<>();
+
+        RecordingOAuthClient(boolean rejectRefreshTokens) {
+            this(rejectRefreshTokens, new TokenCache());
+        }
+
+        RecordingOAuthClient(boolean rejectRefreshTokens, TokenCache tokenCache) {
+            this(rejectRefreshTokens, tokenCache, Duration.ofHours(1));
+        }
+
+        RecordingOAuthClient(boolean rejectRefreshTokens, TokenCache tokenCache, Duration lifetime) {
+            super(null, null, refreshScheduler, tokenCache);
+            this.rejectRefreshTokens = rejectRefreshTokens;
+            this.lifetime = lifetime;
+        }
+
+        @Override
+        Mono<Oauth2AccessTokenResponse> requestOauth2AccessToken(MultiValueMap<String, String> formData, long maxRetryAttempts) {
+            String grantType = formData.getFirst("grant_type");
+            int index = grantTypes.size();
+            grantTypes.add(grantType);
+            this.formData.add(formData);
+            if (rejectRefreshTokens && "refresh_token".equals(grantType)) {
+                return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+            }
+            long now = Instant.now()
+                              .getEpochSecond();
+            return Mono.just(ImmutableOauth2AccessTokenResponse.builder()
+                                                               .accessToken(buildJwt(now, now + lifetime.toSeconds()))
+                                                               .refreshToken("refresh-token-" + index)
+                                                               .tokenType("bearer")
+                                                               .expiresIn(lifetime.toSeconds())
+                                                               .scope("cloud_controller.read")
+                                                               .jti("jti")
+                                                               .build());
+        }
+
+        private String buildJwt(long issuedAt, long expiresAt) {
+            String body = "{\"scope\":[\"cloud_controller.read\"],\"iat\":" + issuedAt + ",\"exp\":" + expiresAt + "}";
+            Base64.Encoder encoder = Base64.getUrlEncoder()
+                                           .withoutPadding();
+            return encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(body.getBytes(StandardCharsets.UTF_8)) + ".signature";
+        }
+    }
+
+    private class TestOAuthClient extends OAuthClient {
+
+        private final Duration[] lifetimes;
+        private final AtomicInteger createdTokens = new AtomicInteger();
+        private final CountDownLatch secondToken = new CountDownLatch(1);
+
+        TestOAuthClient(Duration... lifetimes) {
+            this(new TokenCache(), lifetimes);
+        }
+
+        TestOAuthClient(TokenCache tokenCache, Duration... lifetimes) {
+            super(null, null, refreshScheduler, tokenCache);
+            this.lifetimes = lifetimes;
+        }
+
+        @Override
+        protected Mono<OAuth2AccessTokenWithAdditionalInfo> createTokenReactively() {
+            int index = createdTokens.getAndIncrement();
+            if (index == 0) {
+                return Mono.just(buildToken(index));
+            }
+            return Mono.delay(Duration.ofMillis(100))
+                       .map(delay -> {
+                           secondToken.countDown();
+                           return buildToken(index);
+                       });
+        }
+
+        private OAuth2AccessTokenWithAdditionalInfo buildToken(int index) {
+            Instant now = Instant.now();
+            Duration lifetime = lifetimes[Math.min(index, lifetimes.length - 1)];
+            return new OAuth2AccessTokenWithAdditionalInfo(new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token-" + index, now,
+                                                                                 now.plus(lifetime)));
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.sap.cloudfoundry.client.facade.oauth2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import com.sap.cloudfoundry.client.facade.CloudCredentials;
+import com.sap.cloudfoundry.client.facade.oauth2.TokenCache.SharedToken;
+
+class TokenCacheTest {
+
+    private static final CloudCredentials CREDENTIALS = new CloudCredentials("user", "password");
+    private static final CloudCredentials OTHER_CREDENTIALS = new CloudCredentials("other-user", "password");
+
+    private final MutableClock clock = new MutableClock();
+    private final TokenCache cache = new TokenCache(clock);
+
+    @Test
+    void testEntryIsSharedUntilTokenExpires() {
+        SharedToken sharedToken = cache.get(null, CREDENTIALS);
+        sharedToken.set(createToken(Duration.ofMinutes(5)));
+
+        clock.advance(Duration.ofMinutes(4));
+        assertSame(sharedToken, cache.get(null, CREDENTIALS));
+
+        clock.advance(Duration.ofMinutes(1));
+        assertNotSame(sharedToken, cache.get(null, CREDENTIALS));
+    }
+
+    @Test
+    void testExpiredEntriesOfOtherCredentialsAreDropped() {
+        SharedToken sharedToken = cache.get(null, CREDENTIALS);
+        sharedToken.set(createToken(Duration.ofMinutes(5)));
+        clock.advance(Duration.ofMinutes(5));
+
+        cache.get(null, OTHER_CREDENTIALS);
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testUnreferencedEntriesAreDropped() throws InterruptedException {
+        cache.get(null, CREDENTIALS);
+        SharedToken otherSharedToken = cache.get(null, OTHER_CREDENTIALS);
+
+        for (int i = 0; i < 50 && cache.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+            cache.get(null, OTHER_CREDENTIALS);
+        }
+
+        assertEquals(1, cache.size());
+        assertSame(otherSharedToken, cache.get(null, OTHER_CREDENTIALS));
+    }
+
+    private OAuth2AccessTokenWithAdditionalInfo createToken(Duration lifetime) {
+        Instant now = clock.instant();
+        return new OAuth2AccessTokenWithAdditionalInfo(new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token", now,
+                                                                             now.plus(lifetime)));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
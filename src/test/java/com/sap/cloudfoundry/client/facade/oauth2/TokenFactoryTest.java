@@ -4,14 +4,18 @@ import static com.sap.cloudfoundry.client.facade.oauth2.TokenFactory.CLIENT_ID;
 import static com.sap.cloudfoundry.client.facade.oauth2.TokenFactory.USER_ID;
 import static com.sap.cloudfoundry.client.facade.oauth2.TokenFactory.USER_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -51,6 +55,32 @@ class TokenFactoryTest {
         validateToken(token, expectedTokenProperties);
     }
 
+    @Test
+    void testClaimsOfSameTokenAreParsedOnce() {
+        String tokenString = buildToken("{\"scope\":[\"cloud_controller.read\"],\"iat\":100,\"exp\":999,\"user_name\":\"cached\"}");
+
+        OAuth2AccessTokenWithAdditionalInfo token = tokenFactory.createToken(tokenString);
+        OAuth2AccessTokenWithAdditionalInfo sameToken = new TokenFactory().createToken(tokenString);
+
+        assertSame(token.getAdditionalInfo(), sameToken.getAdditionalInfo());
+        assertEquals("cached", sameToken.getAdditionalInfo()
+                                        .get(USER_NAME));
+    }
+
+    @Test
+    void testTokenWithMoreThanThreePartsIsRejected() {
+        String tokenString = buildToken("{\"scope\":[\"cloud_controller.read\"],\"iat\":100,\"exp\":999}") + ".extra";
+
+        assertThrows(IllegalStateException.class, () -> tokenFactory.createToken(tokenString));
+    }
+
+    private static String buildToken(String body) {
+        Base64.Encoder encoder = Base64.getUrlEncoder()
+                                       .withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+            + encoder.encodeToString(body.getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+
     public static Stream<Arguments> testAdditionalInfoToken() {
         return Stream.of(
 // @formatter:off
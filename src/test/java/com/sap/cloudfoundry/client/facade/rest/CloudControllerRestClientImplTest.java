@@ -1,19 +1,29 @@
 package com.sap.cloudfoundry.client.facade.rest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.cloudfoundry.client.CloudFoundryClient;
 import org.cloudfoundry.client.v3.BuildpackData;
 import org.cloudfoundry.client.v3.ClientV3Exception;
+import org.cloudfoundry.client.v3.LastOperation;
 import org.cloudfoundry.client.v3.Lifecycle;
+import org.cloudfoundry.client.v3.Metadata;
 import org.cloudfoundry.client.v3.LifecycleType;
 import org.cloudfoundry.client.v3.Pagination;
+import org.cloudfoundry.client.v3.Relationship;
+import org.cloudfoundry.client.v3.ToOneRelationship;
 import org.cloudfoundry.client.v3.applications.ApplicationResource;
 import org.cloudfoundry.client.v3.applications.ApplicationState;
 import org.cloudfoundry.client.v3.applications.ApplicationsV3;
@@ -23,13 +33,48 @@ import org.cloudfoundry.client.v3.applications.ListApplicationsRequest;
 import org.cloudfoundry.client.v3.applications.ListApplicationsResponse;
 import org.cloudfoundry.client.v3.applications.UpdateApplicationRequest;
 import org.cloudfoundry.client.v3.applications.UpdateApplicationResponse;
+import org.cloudfoundry.client.v3.packages.BitsData;
+import org.cloudfoundry.client.v3.packages.ListPackagesRequest;
+import org.cloudfoundry.client.v3.packages.ListPackagesResponse;
+import org.cloudfoundry.client.v3.packages.PackageResource;
+import org.cloudfoundry.client.v3.packages.PackageState;
+import org.cloudfoundry.client.v3.packages.PackageType;
+import org.cloudfoundry.client.v3.packages.Packages;
+import org.cloudfoundry.client.v3.processes.HealthCheck;
+import org.cloudfoundry.client.v3.processes.HealthCheckType;
+import org.cloudfoundry.client.v3.processes.ListProcessesRequest;
+import org.cloudfoundry.client.v3.processes.ListProcessesResponse;
+import org.cloudfoundry.client.v3.processes.ProcessRelationships;
+import org.cloudfoundry.client.v3.processes.ProcessResource;
+import org.cloudfoundry.client.v3.processes.Processes;
+import org.cloudfoundry.client.v3.routes.Destination;
+import org.cloudfoundry.client.v3.routes.ListRoutesRequest;
+import org.cloudfoundry.client.v3.routes.ListRoutesResponse;
+import org.cloudfoundry.client.v3.routes.RouteRelationships;
+import org.cloudfoundry.client.v3.routes.RouteResource;
+import org.cloudfoundry.client.v3.routes.RoutesV3;
+import org.cloudfoundry.client.v3.servicebindings.ListServiceBindingsRequest;
+import org.cloudfoundry.client.v3.servicebindings.ListServiceBindingsResponse;
+import org.cloudfoundry.client.v3.servicebindings.ServiceBindingRelationships;
+import org.cloudfoundry.client.v3.servicebindings.ServiceBindingResource;
+import org.cloudfoundry.client.v3.servicebindings.ServiceBindingType;
+import org.cloudfoundry.client.v3.servicebindings.ServiceBindingsV3;
+import org.cloudfoundry.client.v3.serviceinstances.ListServiceInstancesRequest;
+import org.cloudfoundry.client.v3.serviceinstances.ListServiceInstancesResponse;
+import org.cloudfoundry.client.v3.serviceinstances.ServiceInstanceRelationships;
+import org.cloudfoundry.client.v3.serviceinstances.ServiceInstanceResource;
+import org.cloudfoundry.client.v3.serviceinstances.ServiceInstanceType;
+import org.cloudfoundry.client.v3.serviceinstances.ServiceInstancesV3;
 import org.cloudfoundry.client.v3.serviceofferings.GetServiceOfferingRequest;
 import org.cloudfoundry.client.v3.serviceofferings.GetServiceOfferingResponse;
 import org.cloudfoundry.client.v3.serviceofferings.ServiceOffering;
 import org.cloudfoundry.client.v3.serviceofferings.ServiceOfferingsV3;
 import org.cloudfoundry.client.v3.serviceplans.GetServicePlanRequest;
 import org.cloudfoundry.client.v3.serviceplans.GetServicePlanResponse;
+import org.cloudfoundry.client.v3.serviceplans.ListServicePlansRequest;
+import org.cloudfoundry.client.v3.serviceplans.ListServicePlansResponse;
 import org.cloudfoundry.client.v3.serviceplans.ServicePlan;
+import org.cloudfoundry.client.v3.serviceplans.ServicePlanResource;
 import org.cloudfoundry.client.v3.serviceplans.ServicePlansV3;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -44,9 +89,15 @@ import org.springframework.http.HttpStatus;
 import com.sap.cloudfoundry.client.facade.CloudOperationException;
 import com.sap.cloudfoundry.client.facade.adapters.RawCloudServiceOfferingTest;
 import com.sap.cloudfoundry.client.facade.adapters.RawCloudServicePlanTest;
+import com.sap.cloudfoundry.client.facade.domain.ApplicationSnapshot;
+import com.sap.cloudfoundry.client.facade.domain.CloudRoute;
+import com.sap.cloudfoundry.client.facade.domain.CloudServiceInstance;
 import com.sap.cloudfoundry.client.facade.domain.CloudSpace;
 import com.sap.cloudfoundry.client.facade.domain.ImmutableCloudMetadata;
 import com.sap.cloudfoundry.client.facade.domain.ImmutableCloudSpace;
+import com.sap.cloudfoundry.client.facade.domain.SpaceSnapshot;
+import com.sap.cloudfoundry.client.facade.domain.Status;
+import com.sap.cloudfoundry.client.facade.domain.Upload;
 
 import reactor.core.publisher.Mono;
 
@@ -256,6 +307,381 @@ class CloudControllerRestClientImplTest {
                .update(updateAppRequest);
     }
 
+    @Test
+    void testApplicationGuidIsResolvedFromCache() {
+        ApplicationsV3 applicationsV3 = Mockito.mock(ApplicationsV3.class);
+        var updateAppRequest = UpdateApplicationRequest.builder()
+                                                       .applicationId(APPLICATION_GUID.toString())
+                                                       .name(NEW_APPLICATION_NAME)
+                                                       .build();
+        prepareClientDelegate(applicationsV3, updateAppRequest, Mono.empty(), Mono.empty());
+        controllerClient = new CloudControllerRestClientImpl(delegate, controllerClient.getTarget(),
+                                                             new ResourceGuidCache(Duration.ofMinutes(1), 10));
+
+        assertEquals(APPLICATION_GUID, controllerClient.getApplicationGuid(OLD_APPLICATION_NAME));
+        assertEquals(APPLICATION_GUID, controllerClient.getApplicationGuid(OLD_APPLICATION_NAME));
+        controllerClient.rename(OLD_APPLICATION_NAME, NEW_APPLICATION_NAME);
+        assertEquals(APPLICATION_GUID, controllerClient.getApplicationGuid(NEW_APPLICATION_NAME));
+
+        Mockito.verify(applicationsV3, Mockito.times(1))
+               .list(Mockito.any(ListApplicationsRequest.class));
+    }
+
+    @Test
+    void testTargetViewSharesDelegateAndCaches() {
+        ApplicationsV3 applicationsV3 = Mockito.mock(ApplicationsV3.class);
+        prepareClientDelegate(applicationsV3, null, Mono.empty(), Mono.empty());
+        controllerClient = new CloudControllerRestClientImpl(delegate, controllerClient.getTarget(),
+                                                             new ResourceGuidCache(Duration.ofMinutes(1), 10));
+        CloudSpace otherTarget = ImmutableCloudSpace.builder()
+                                                    .metadata(ImmutableCloudMetadata.builder()
+                                                                                    .guid(UUID.randomUUID())
+                                                                                    .build())
+                                                    .build();
+
+        CloudControllerRestClient otherClient = controllerClient.withTarget(otherTarget);
+        CloudControllerRestClient sameTargetClient = otherClient.withTarget(controllerClient.getTarget());
+
+        assertSame(otherTarget, otherClient.getTarget());
+        assertSame(otherTarget, otherClient.getReactiveClient()
+                                           .getTarget());
+        assertEquals(SPACE_GUID, controllerClient.getTarget()
+                                                 .getGuid());
+        assertEquals(APPLICATION_GUID, controllerClient.getApplicationGuid(OLD_APPLICATION_NAME));
+        assertEquals(APPLICATION_GUID, sameTargetClient.getApplicationGuid(OLD_APPLICATION_NAME));
+        Mockito.verify(applicationsV3, Mockito.times(1))
+               .list(Mockito.any(ListApplicationsRequest.class));
+    }
+
+    @Test
+    void testClosingTargetViewDoesNotCloseClient() {
+        ApplicationsV3 applicationsV3 = Mockito.mock(ApplicationsV3.class);
+        prepareClientDelegate(applicationsV3, null, Mono.empty(), Mono.empty());
+        AtomicInteger closeCount = new AtomicInteger();
+        controllerClient = new CloudControllerRestClientImpl(delegate, controllerClient.getTarget(), ResourceGuidCache.disabled(), null,
+                                                             FingerprintIndex.disabled(), closeCount::incrementAndGet);
+
+        controllerClient.withTarget(null)
+                        .close();
+
+        assertEquals(0, closeCount.get());
+        assertEquals(APPLICATION_GUID, controllerClient.getApplicationGuid(OLD_APPLICATION_NAME));
+        controllerClient.close();
+        assertEquals(1, closeCount.get());
+    }
+
+    @Test
+    void testReactiveClientDefersRequestsAndConvertsErrors() {
+        initControllerClientWithTargetSpace(SPACE_GUID);
+        ApplicationsV3 applicationsV3 = Mockito.mock(ApplicationsV3.class);
+        Mockito.when(delegate.applicationsV3())
+               .thenReturn(applicationsV3);
+        Mockito.when(applicationsV3.list(Mockito.any(ListApplicationsRequest.class)))
+               .thenReturn(Mono.error(clientV3Exception(HttpStatus.BAD_GATEWAY.value())));
+
+        Mono<UUID> applicationGuid = controllerClient.getReactiveClient()
+                                                     .getApplicationGuid(OLD_APPLICATION_NAME);
+        Mockito.verifyNoInteractions(applicationsV3);
+
+        CloudOperationException exception = assertThrows(CloudOperationException.class, applicationGuid::block);
+        assertEquals(HttpStatus.BAD_GATEWAY, exception.getStatusCode());
+    }
+
+    @Test
+    void testReactiveClientSignalsNotFoundForMissingApplication() {
+        initControllerClientWithTargetSpace(SPACE_GUID);
+        ApplicationsV3 applicationsV3 = Mockito.mock(ApplicationsV3.class);
+        Mockito.when(delegate.applicationsV3())
+               .thenReturn(applicationsV3);
+        Mockito.when(applicationsV3.list(Mockito.any(ListApplicationsRequest.class)))
+               .thenReturn(Mono.just(ListApplicationsResponse.builder()
+                                                             .resources(Collections.emptyList())
+                                                             .pagination(Pagination.builder()
+                                                                                   .totalResults(0)
+                                                                                   .totalPages(1)
+                                                                                   .build())
+                                                             .build()));
+
+        CloudOperationException exception = assertThrows(CloudOperationException.class, () -> controllerClient.getReactiveClient()
+                                                                                                               .getApplication(OLD_APPLICATION_NAME)
+                                                                                                               .block());
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        assertNull(controllerClient.getReactiveClient()
+                                   .getApplication(OLD_APPLICATION_NAME, false)
+                                   .block());
+    }
+
+    @Test
+    void testServiceInstancesByLabelSelectorResolvePlansInBatch() {
+        initControllerClientWithTargetSpace(SPACE_GUID);
+        ServiceInstancesV3 serviceInstancesV3 = Mockito.mock(ServiceInstancesV3.class);
+        ServicePlansV3 servicePlansV3 = Mockito.mock(ServicePlansV3.class);
+        ServiceOfferingsV3 serviceOfferingsV3 = Mockito.mock(ServiceOfferingsV3.class);
+        Mockito.when(delegate.serviceInstancesV3())
+               .thenReturn(serviceInstancesV3);
+        Mockito.when(delegate.servicePlansV3())
+               .thenReturn(servicePlansV3);
+        Mockito.when(delegate.serviceOfferingsV3())
+               .thenReturn(serviceOfferingsV3);
+        ServicePlan servicePlan = RawCloudServicePlanTest.buildTestServicePlan(PLAN_NAME);
+        Mockito.when(serviceInstancesV3.list(Mockito.any(ListServiceInstancesRequest.class)))
+               .thenReturn(Mono.just(ListServiceInstancesResponse.builder()
+                                                                 .resource(buildManagedServiceInstance("foo", servicePlan.getId()))
+                                                                 .resource(buildManagedServiceInstance("bar", servicePlan.getId()))
+                                                                 .pagination(Pagination.builder()
+                                                                                       .totalResults(2)
+                                                                                       .totalPages(1)
+                                                                                       .build())
+                                                                 .build()));
+        Mockito.when(servicePlansV3.list(Mockito.any(ListServicePlansRequest.class)))
+               .thenReturn(Mono.just(ListServicePlansResponse.builder()
+                                                             .resource(ServicePlanResource.builder()
+                                                                                          .from(servicePlan)
+                                                                                          .build())
+                                                             .pagination(Pagination.builder()
+                                                                                   .totalResults(1)
+                                                                                   .totalPages(1)
+                                                                                   .build())
+                                                             .build()));
+        Mockito.when(serviceOfferingsV3.get(Mockito.any(GetServiceOfferingRequest.class)))
+               .thenReturn(Mono.just(GetServiceOfferingResponse.builder()
+                                                               .from(RawCloudServiceOfferingTest.buildTestServiceOffering())
+                                                               .build()));
+
+        List<CloudServiceInstance> serviceInstances = controllerClient.getServiceInstancesByMetadataLabelSelector("foo=bar");
+
+        assertEquals(List.of("foo", "bar"), serviceInstances.stream()
+                                                            .map(CloudServiceInstance::getName)
+                                                            .collect(Collectors.toList()));
+        assertEquals(PLAN_NAME, serviceInstances.get(0)
+                                                .getPlan());
+        Mockito.verify(servicePlansV3, Mockito.times(1))
+               .list(Mockito.any(ListServicePlansRequest.class));
+        Mockito.verify(servicePlansV3, Mockito.never())
+               .get(Mockito.any(GetServicePlanRequest.class));
+        Mockito.verify(serviceOfferingsV3, Mockito.times(1))
+               .get(Mockito.any(GetServiceOfferingRequest.class));
+    }
+
+    @Test
+    void testGetUploadStatusesListsPackagesInOneRequest() {
+        Packages packages = Mockito.mock(Packages.class);
+        Mockito.when(delegate.packages())
+               .thenReturn(packages);
+        UUID readyPackageGuid = UUID.randomUUID();
+        UUID failedPackageGuid = UUID.randomUUID();
+        Mockito.when(packages.list(Mockito.any(ListPackagesRequest.class)))
+               .thenReturn(Mono.just(ListPackagesResponse.builder()
+                                                         .resource(buildPackage(readyPackageGuid, PackageState.READY))
+                                                         .resource(buildPackage(failedPackageGuid, PackageState.FAILED))
+                                                         .pagination(Pagination.builder()
+                                                                               .totalResults(2)
+                                                                               .totalPages(1)
+                                                                               .build())
+                                                         .build()));
+
+        Map<UUID, Upload> uploadStatuses = controllerClient.getUploadStatuses(List.of(readyPackageGuid, failedPackageGuid,
+                                                                                      UUID.randomUUID()));
+
+        assertEquals(2, uploadStatuses.size());
+        assertEquals(Status.READY, uploadStatuses.get(readyPackageGuid)
+                                                 .getStatus());
+        assertEquals(Status.FAILED, uploadStatuses.get(failedPackageGuid)
+                                                  .getStatus());
+        Mockito.verify(packages, Mockito.times(1))
+               .list(Mockito.any(ListPackagesRequest.class));
+        Mockito.verify(packages, Mockito.never())
+               .get(Mockito.any());
+    }
+
+    @Test
+    void testGetSpaceSnapshotJoinsSpaceWideLists() {
+        initControllerClientWithTargetSpace(SPACE_GUID);
+        UUID otherApplicationGuid = UUID.randomUUID();
+        ApplicationsV3 applicationsV3 = Mockito.mock(ApplicationsV3.class);
+        Processes processes = Mockito.mock(Processes.class);
+        RoutesV3 routesV3 = Mockito.mock(RoutesV3.class);
+        ServiceBindingsV3 serviceBindingsV3 = Mockito.mock(ServiceBindingsV3.class);
+        Mockito.when(delegate.applicationsV3())
+               .thenReturn(applicationsV3);
+        Mockito.when(delegate.processes())
+               .thenReturn(processes);
+        Mockito.when(delegate.routesV3())
+               .thenReturn(routesV3);
+        Mockito.when(delegate.serviceBindingsV3())
+               .thenReturn(serviceBindingsV3);
+        Mockito.when(applicationsV3.list(Mockito.any(ListApplicationsRequest.class)))
+               .thenReturn(Mono.just(ListApplicationsResponse.builder()
+                                                             .resource(buildApplication(APPLICATION_GUID, OLD_APPLICATION_NAME))
+                                                             .resource(buildApplication(otherApplicationGuid, NEW_APPLICATION_NAME))
+                                                             .pagination(buildPagination(2))
+                                                             .build()));
+        Mockito.when(processes.list(Mockito.any(ListProcessesRequest.class)))
+               .thenReturn(Mono.just(ListProcessesResponse.builder()
+                                                          .resource(buildWebProcess(APPLICATION_GUID))
+                                                          .pagination(buildPagination(1))
+                                                          .build()));
+        Mockito.when(routesV3.list(Mockito.any(ListRoutesRequest.class)))
+               .thenReturn(Mono.just(ListRoutesResponse.builder()
+                                                       .resource(buildRoute(APPLICATION_GUID))
+                                                       .pagination(buildPagination(1))
+                                                       .build()));
+        Mockito.when(serviceBindingsV3.list(Mockito.any(ListServiceBindingsRequest.class)))
+               .thenReturn(Mono.just(ListServiceBindingsResponse.builder()
+                                                                .resource(buildServiceBinding(APPLICATION_GUID))
+                                                                .pagination(buildPagination(1))
+                                                                .build()));
+
+        SpaceSnapshot snapshot = controllerClient.getSpaceSnapshot();
+
+        ApplicationSnapshot application = snapshot.getApplication(OLD_APPLICATION_NAME)
+                                                  .orElseThrow();
+        assertEquals(2, application.getProcess()
+                                   .getInstances());
+        assertEquals(List.of("host"), application.getRoutes()
+                                                 .stream()
+                                                 .map(CloudRoute::getHost)
+                                                 .collect(Collectors.toList()));
+        assertEquals(1, application.getServiceBindings()
+                                   .size());
+        ApplicationSnapshot otherApplication = snapshot.getApplication(NEW_APPLICATION_NAME)
+                                                       .orElseThrow();
+        assertNull(otherApplication.getProcess());
+        assertEquals(Collections.emptyList(), otherApplication.getRoutes());
+        assertEquals(Collections.emptyList(), otherApplication.getServiceBindings());
+        Mockito.verify(applicationsV3, Mockito.times(1))
+               .list(Mockito.any(ListApplicationsRequest.class));
+        Mockito.verify(serviceBindingsV3, Mockito.times(1))
+               .list(Mockito.any(ListServiceBindingsRequest.class));
+        Mockito.verify(applicationsV3, Mockito.never())
+               .getProcess(Mockito.any());
+    }
+
+    private static ApplicationResource buildApplication(UUID guid, String name) {
+        return ApplicationResource.builder()
+                                  .name(name)
+                                  .id(guid.toString())
+                                  .createdAt(APPLICATION_CREATED_AT)
+                                  .state(ApplicationState.STARTED)
+                                  .lifecycle(Lifecycle.builder()
+                                                      .type(LifecycleType.BUILDPACK)
+                                                      .data(BuildpackData.builder()
+                                                                         .buildpack("java_buildpack")
+                                                                         .stack("cflinuxfs4")
+                                                                         .build())
+                                                      .build())
+                                  .build();
+    }
+
+    private static ProcessResource buildWebProcess(UUID applicationGuid) {
+        return ProcessResource.builder()
+                              .id(UUID.randomUUID()
+                                      .toString())
+                              .createdAt(APPLICATION_CREATED_AT)
+                              .type("web")
+                              .command("start")
+                              .instances(2)
+                              .memoryInMb(1024)
+                              .diskInMb(1024)
+                              .healthCheck(HealthCheck.builder()
+                                                      .type(HealthCheckType.PORT)
+                                                      .build())
+                              .relationships(ProcessRelationships.builder()
+                                                                 .app(buildToOneRelationship(applicationGuid))
+                                                                 .build())
+                              .metadata(Metadata.builder()
+                                                .build())
+                              .build();
+    }
+
+    private static RouteResource buildRoute(UUID applicationGuid) {
+        return RouteResource.builder()
+                            .id(UUID.randomUUID()
+                                    .toString())
+                            .createdAt(APPLICATION_CREATED_AT)
+                            .host("host")
+                            .path("")
+                            .url("host.example.com")
+                            .relationships(RouteRelationships.builder()
+                                                             .space(buildToOneRelationship(SPACE_GUID))
+                                                             .domain(buildToOneRelationship(UUID.randomUUID()))
+                                                             .build())
+                            .metadata(Metadata.builder()
+                                              .build())
+                            .destination(Destination.builder()
+                                                    .destinationId(UUID.randomUUID()
+                                                                       .toString())
+                                                    .application(org.cloudfoundry.client.v3.routes.Application.builder()
+                                                                                                              .applicationId(applicationGuid.toString())
+                                                                                                              .build())
+                                                    .protocol("http1")
+                                                    .build())
+                            .build();
+    }
+
+    private static ServiceBindingResource buildServiceBinding(UUID applicationGuid) {
+        return ServiceBindingResource.builder()
+                                     .id(UUID.randomUUID()
+                                             .toString())
+                                     .createdAt(APPLICATION_CREATED_AT)
+                                     .type(ServiceBindingType.APPLICATION)
+                                     .lastOperation(LastOperation.builder()
+                                                                 .type("create")
+                                                                 .state("succeeded")
+                                                                 .createdAt(APPLICATION_CREATED_AT)
+                                                                 .updatedAt(APPLICATION_CREATED_AT)
+                                                                 .build())
+                                     .relationships(ServiceBindingRelationships.builder()
+                                                                               .application(buildToOneRelationship(applicationGuid))
+                                                                               .serviceInstance(buildToOneRelationship(UUID.randomUUID()))
+                                                                               .build())
+                                     .build();
+    }
+
+    private static ToOneRelationship buildToOneRelationship(UUID guid) {
+        return ToOneRelationship.builder()
+                                .data(Relationship.builder()
+                                                  .id(guid.toString())
+                                                  .build())
+                                .build();
+    }
+
+    private static Pagination buildPagination(int totalResults) {
+        return Pagination.builder()
+                         .totalResults(totalResults)
+                         .totalPages(1)
+                         .build();
+    }
+
+    private static PackageResource buildPackage(UUID guid, PackageState state) {
+        return PackageResource.builder()
+                              .id(guid.toString())
+                              .createdAt(APPLICATION_CREATED_AT)
+                              .type(PackageType.BITS)
+                              .data(BitsData.builder()
+                                            .build())
+                              .state(state)
+                              .build();
+    }
+
+    private static ServiceInstanceResource buildManagedServiceInstance(String name, String servicePlanGuid) {
+        return ServiceInstanceResource.builder()
+                                      .id(UUID.randomUUID()
+                                              .toString())
+                                      .name(name)
+                                      .createdAt(APPLICATION_CREATED_AT)
+                                      .type(ServiceInstanceType.MANAGED)
+                                      .tags(Collections.emptyList())
+                                      .relationships(ServiceInstanceRelationships.builder()
+                                                                                 .servicePlan(ToOneRelationship.builder()
+                                                                                                               .data(Relationship.builder()
+                                                                                                                                 .id(servicePlanGuid)
+                                                                                                                                 .build())
+                                                                                                               .build())
+                                                                                 .build())
+                                      .build();
+    }
+
     private void prepareClientDelegate(ApplicationsV3 applicationsV3, UpdateApplicationRequest updateAppRequest,
                                        Mono<UpdateApplicationResponse> updateApplicationResponse,
                                        Mono<GetApplicationResponse> getApplicationResponse) {
@@ -0,0 +1,143 @@
+package com.sap.cloudfoundry.client.facade.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.cloudfoundry.client.v3.Metadata;
+import org.cloudfoundry.client.v3.Pagination;
+import org.cloudfoundry.client.v3.Relationship;
+import org.cloudfoundry.client.v3.ToOneRelationship;
+import org.cloudfoundry.client.v3.organizations.GetOrganizationRequest;
+import org.cloudfoundry.client.v3.organizations.GetOrganizationResponse;
+import org.cloudfoundry.client.v3.organizations.ListOrganizationsRequest;
+import org.cloudfoundry.client.v3.organizations.ListOrganizationsResponse;
+import org.cloudfoundry.client.v3.organizations.OrganizationResource;
+import org.cloudfoundry.client.v3.organizations.OrganizationsV3;
+import org.cloudfoundry.client.v3.spaces.ListSpacesRequest;
+import org.cloudfoundry.client.v3.spaces.ListSpacesResponse;
+import org.cloudfoundry.client.v3.spaces.SpaceRelationships;
+import org.cloudfoundry.client.v3.spaces.SpaceResource;
+import org.cloudfoundry.client.v3.spaces.SpacesV3;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.sap.cloudfoundry.client.facade.CloudOperationException;
+import com.sap.cloudfoundry.client.facade.adapters.ReactorSpacesWithOrganizationV3;
+import com.sap.cloudfoundry.client.facade.adapters.ReactorSpacesWithOrganizationV3.SpaceWithOrganization;
+import com.sap.cloudfoundry.client.facade.adapters.ReactorSpacesWithOrganizationV3.SpacesWithOrganizations;
+import com.sap.cloudfoundry.client.facade.domain.CloudSpace;
+
+import reactor.core.publisher.Mono;
+
+class CloudSpaceClientTest {
+
+    private static final String SPACE_GUID = "7a4d7b4e-0b1c-4c5f-9d0e-5bde3c3fa7f1";
+    private static final String OTHER_SPACE_GUID = "2b3c4d5e-6f7a-4b8c-9d0e-1f2a3b4c5d6e";
+    private static final String ORG_GUID = "0f1e2d3c-4b5a-4968-8776-655443322110";
+    private static final String OTHER_ORG_GUID = "1a2b3c4d-5e6f-4a7b-8c9d-0e1f2a3b4c5d";
+
+    private final SpacesV3 spacesClient = mock(SpacesV3.class);
+    private final OrganizationsV3 orgsClient = mock(OrganizationsV3.class);
+    private final ReactorSpacesWithOrganizationV3 spacesWithOrganizationClient = mock(ReactorSpacesWithOrganizationV3.class);
+    private final CloudSpaceClient client = new CloudSpaceClient(spacesClient, orgsClient, spacesWithOrganizationClient);
+
+    @Test
+    void testOrganizationsWhichWereNotIncludedAreRequested() {
+        SpaceWithOrganization spaceInOtherOrg = new SpaceWithOrganization(space(OTHER_SPACE_GUID, OTHER_ORG_GUID),
+                                                                          organization(OTHER_ORG_GUID, "other-org"));
+        SpaceWithOrganization spaceWithoutOrg = new SpaceWithOrganization(space(SPACE_GUID, ORG_GUID), null);
+        mockListedSpaces(new SpacesWithOrganizations(List.of(spaceInOtherOrg, spaceWithoutOrg), true));
+        when(orgsClient.get(any(GetOrganizationRequest.class))).thenReturn(Mono.just(GetOrganizationResponse.builder()
+                                                                                                            .from(organization(ORG_GUID, "org"))
+                                                                                                            .build()));
+
+        CloudSpace space = client.getSpace("org", "dev");
+
+        assertEquals(SPACE_GUID, space.getGuid()
+                                      .toString());
+        assertEquals("org", space.getOrganization()
+                                 .getName());
+        verify(orgsClient).get(GetOrganizationRequest.builder()
+                                                     .organizationId(ORG_GUID)
+                                                     .build());
+        verify(spacesClient, never()).list(any());
+    }
+
+    @Test
+    void testMissingSpaceIsReportedWithoutListingSpacesAgainIfAllWereListed() {
+        SpaceWithOrganization spaceInOtherOrg = new SpaceWithOrganization(space(OTHER_SPACE_GUID, OTHER_ORG_GUID),
+                                                                          organization(OTHER_ORG_GUID, "other-org"));
+        mockListedSpaces(new SpacesWithOrganizations(List.of(spaceInOtherOrg), true));
+        mockOrganizationWithName();
+
+        CloudOperationException e = assertThrows(CloudOperationException.class, () -> client.getSpace("org", "dev"));
+
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+        assertEquals("Space dev not found in organization org", e.getDescription());
+        verify(spacesClient, never()).list(any());
+    }
+
+    @Test
+    void testSpacesAreRequestedFromTheOrganizationIfNotAllWereListed() {
+        mockListedSpaces(new SpacesWithOrganizations(List.of(), false));
+        mockOrganizationWithName();
+        when(spacesClient.list(any(ListSpacesRequest.class))).thenReturn(Mono.just(ListSpacesResponse.builder()
+                                                                                                     .resource(space(SPACE_GUID, ORG_GUID))
+                                                                                                     .pagination(Pagination.builder()
+                                                                                                                           .build())
+                                                                                                     .build()));
+
+        CloudSpace space = client.getSpace("org", "dev");
+
+        assertEquals(SPACE_GUID, space.getGuid()
+                                      .toString());
+        verify(spacesClient).list(any());
+    }
+
+    private void mockListedSpaces(SpacesWithOrganizations spacesWithOrgs) {
+        when(spacesWithOrganizationClient.list("dev")).thenReturn(Mono.just(spacesWithOrgs));
+    }
+
+    private void mockOrganizationWithName() {
+        when(orgsClient.list(any(ListOrganizationsRequest.class))).thenReturn(Mono.just(ListOrganizationsResponse.builder()
+                                                                                                                 .resource(organization(ORG_GUID, "org"))
+                                                                                                                 .pagination(Pagination.builder()
+                                                                                                                                       .build())
+                                                                                                                 .build()));
+    }
+
+    private static SpaceResource space(String guid, String orgGuid) {
+        return SpaceResource.builder()
+                            .id(guid)
+                            .name("dev")
+                            .createdAt("2024-01-01T00:00:00Z")
+                            .metadata(Metadata.builder()
+                                              .build())
+                            .relationships(SpaceRelationships.builder()
+                                                             .organization(ToOneRelationship.builder()
+                                                                                            .data(Relationship.builder()
+                                                                                                              .id(orgGuid)
+                                                                                                              .build())
+                                                                                            .build())
+                                                             .build())
+                            .build();
+    }
+
+    private static OrganizationResource organization(String guid, String name) {
+        return OrganizationResource.builder()
+                                   .id(guid)
+                                   .name(name)
+                                   .createdAt("2024-01-01T00:00:00Z")
+                                   .metadata(Metadata.builder()
+                                                     .build())
+                                   .build();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.sap.cloudfoundry.client.facade.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sap.cloudfoundry.client.facade.rest.FingerprintIndex.Fingerprints;
+
+class FingerprintIndexTest {
+
+    private static final UUID APPLICATION_GUID = UUID.randomUUID();
+    private static final String SHA1 = "a94a8fe5ccb19ba61c4c0873d391e987982fbbd3";
+
+    @TempDir
+    Path indexDirectory;
+
+    @Test
+    void testSavedFingerprintsAreLoaded() {
+        FingerprintIndex index = new FingerprintIndex(indexDirectory);
+        Fingerprints fingerprints = index.load(APPLICATION_GUID);
+        fingerprints.put(buildEntry("lib/app.jar", 4, 1000L, 42L), SHA1);
+        fingerprints.save();
+
+        Fingerprints loadedFingerprints = index.load(APPLICATION_GUID);
+
+        assertEquals(SHA1, loadedFingerprints.get(buildEntry("lib/app.jar", 4, 1000L, 42L)));
+    }
+
+    @Test
+    void testChangedEntryIsNotFound() {
+        FingerprintIndex index = new FingerprintIndex(indexDirectory);
+        Fingerprints fingerprints = index.load(APPLICATION_GUID);
+        fingerprints.put(buildEntry("lib/app.jar", 4, 1000L, 42L), SHA1);
+        fingerprints.save();
+
+        Fingerprints loadedFingerprints = index.load(APPLICATION_GUID);
+
+        assertNull(loadedFingerprints.get(buildEntry("lib/app.jar", 5, 1000L, 42L)));
+        assertNull(loadedFingerprints.get(buildEntry("lib/app.jar", 4, 2000L, 42L)));
+        assertNull(loadedFingerprints.get(buildEntry("lib/app.jar", 4, 1000L, 43L)));
+    }
+
+    @Test
+    void testOnlyUsedFingerprintsAreSavedAgain() {
+        FingerprintIndex index = new FingerprintIndex(indexDirectory);
+        Fingerprints fingerprints = index.load(APPLICATION_GUID);
+        fingerprints.put(buildEntry("kept", 4, 1000L, 42L), SHA1);
+        fingerprints.put(buildEntry("removed", 4, 1000L, 42L), SHA1);
+        fingerprints.save();
+
+        Fingerprints secondFingerprints = index.load(APPLICATION_GUID);
+        secondFingerprints.get(buildEntry("kept", 4, 1000L, 42L));
+        secondFingerprints.save();
+
+        Fingerprints thirdFingerprints = index.load(APPLICATION_GUID);
+        assertEquals(SHA1, thirdFingerprints.get(buildEntry("kept", 4, 1000L, 42L)));
+        assertNull(thirdFingerprints.get(buildEntry("removed", 4, 1000L, 42L)));
+    }
+
+    @Test
+    void testCorruptIndexIsIgnored() throws IOException {
+        Files.write(indexDirectory.resolve(APPLICATION_GUID + ".idx"), new byte[] { 1, 2, 3 });
+
+        Fingerprints fingerprints = new FingerprintIndex(indexDirectory).load(APPLICATION_GUID);
+
+        assertNull(fingerprints.get(buildEntry("lib/app.jar", 4, 1000L, 42L)));
+        assertEquals(0, fingerprints.size());
+    }
+
+    private static ZipEntry buildEntry(String name, long size, long time, long crc) {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setSize(size);
+        entry.setTime(time);
+        entry.setCrc(crc);
+        return entry;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.sap.cloudfoundry.client.facade.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.cloudfoundry.client.facade.rest.ResourceGuidCache.ResourceType;
+
+class ResourceGuidCacheTest {
+
+    private static final UUID SPACE_GUID = UUID.randomUUID();
+    private static final UUID OTHER_SPACE_GUID = UUID.randomUUID();
+    private static final UUID APPLICATION_GUID = UUID.randomUUID();
+    private static final String APPLICATION_NAME = "foo";
+
+    private final MutableClock clock = new MutableClock();
+    private ResourceGuidCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResourceGuidCache(Duration.ofMinutes(1), 2, clock);
+    }
+
+    @Test
+    void testGetIsScopedBySpaceAndType() {
+        cache.put(ResourceType.APPLICATION, SPACE_GUID, APPLICATION_NAME, APPLICATION_GUID);
+
+        assertEquals(APPLICATION_GUID, cache.get(ResourceType.APPLICATION, SPACE_GUID, APPLICATION_NAME));
+        assertNull(cache.get(ResourceType.APPLICATION, OTHER_SPACE_GUID, APPLICATION_NAME));
+        assertNull(cache.get(ResourceType.SERVICE_INSTANCE, SPACE_GUID, APPLICATION_NAME));
+    }
+
+    @Test
+    void testEntriesExpire() {
+        cache.put(ResourceType.APPLICATION, SPACE_GUID, APPLICATION_NAME, APPLICATION_GUID);
+        clock.advance(Duration.ofMinutes(1));
+
+        assertNull(cache.get(ResourceType.APPLICATION, SPACE_GUID, APPLICATION_NAME));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        cache.put(ResourceType.APPLICATION, SPACE_GUID, "a", UUID.randomUUID());
+        cache.put(ResourceType.APPLICATION, SPACE_GUID, "b", UUID.randomUUID());
+        cache.get(ResourceType.APPLICATION, SPACE_GUID, "a");
+        cache.put(ResourceType.APPLICATION, SPACE_GUID, "c", UUID.randomUUID());
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(ResourceType.APPLICATION, SPACE_GUID, "b"));
+    }
+
+    @Test
+    void testRemoveByGuid() {
+        cache.put(ResourceType.APPLICATION, SPACE_GUID, APPLICATION_NAME, APPLICATION_GUID);
+        cache.remove(ResourceType.APPLICATION, APPLICATION_GUID);
+
+        assertNull(cache.get(ResourceType.APPLICATION, SPACE_GUID, APPLICATION_NAME));
+    }
+
+    @Test
+    void testDisabledCacheStoresNothing() {
+        ResourceGuidCache disabledCache = ResourceGuidCache.disabled();
+        disabledCache.put(ResourceType.APPLICATION, SPACE_GUID, APPLICATION_NAME, APPLICATION_GUID);
+
+        assertFalse(disabledCache.isEnabled());
+        assertNull(disabledCache.get(ResourceType.APPLICATION, SPACE_GUID, APPLICATION_NAME));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
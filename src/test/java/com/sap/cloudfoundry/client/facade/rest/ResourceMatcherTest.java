@@ -0,0 +1,177 @@
+package com.sap.cloudfoundry.client.facade.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.cloudfoundry.client.CloudFoundryClient;
+import org.cloudfoundry.client.v3.resourcematch.ListMatchingResourcesRequest;
+import org.cloudfoundry.client.v3.resourcematch.ListMatchingResourcesResponse;
+import org.cloudfoundry.client.v3.resourcematch.MatchedResource;
+import org.cloudfoundry.client.v3.resourcematch.ResourceMatchV3;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.sap.cloudfoundry.client.facade.rest.ResourceMatcher.MatchedArchive;
+
+import reactor.core.publisher.Mono;
+
+class ResourceMatcherTest {
+
+    private static final String KNOWN_FILE = "known.txt";
+    private static final String NEW_FILE = "lib/new.txt";
+    private static final String NEW_FILE_CONTENT = "new content";
+
+    @TempDir
+    Path tempDir;
+    @Mock
+    private CloudFoundryClient delegate;
+    @Mock
+    private ResourceMatchV3 resourceMatch;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this)
+                          .close();
+        Mockito.when(delegate.resourceMatchV3())
+               .thenReturn(resourceMatch);
+    }
+
+    @Test
+    void testOnlyUnmatchedFilesAreKept() throws IOException, NoSuchAlgorithmException {
+        Path archive = createArchive(Map.of(KNOWN_FILE, "known content", NEW_FILE, NEW_FILE_CONTENT));
+        ArgumentCaptor<ListMatchingResourcesRequest> request = ArgumentCaptor.forClass(ListMatchingResourcesRequest.class);
+        Mockito.when(resourceMatch.list(request.capture()))
+               .thenAnswer(invocation -> Mono.just(ListMatchingResourcesResponse.builder()
+                                                                                .resources(getResource(request.getValue(), KNOWN_FILE))
+                                                                                .build()));
+
+        Path bits;
+        try (MatchedArchive matchedArchive = new ResourceMatcher(delegate).match(archive)) {
+            bits = matchedArchive.getBits();
+            assertEquals(Set.of(KNOWN_FILE), matchedArchive.getMatchedFileNames());
+            assertEquals(NEW_FILE_CONTENT.length(), matchedArchive.getUnmatchedSize());
+            assertEquals(Set.of("lib/", NEW_FILE), getEntryNames(bits));
+        }
+
+        assertEquals(sha1("known content"), getResource(request.getValue(), KNOWN_FILE).getChecksum()
+                                                                                         .getValue());
+        assertEquals(ResourceMatcher.DEFAULT_FILE_MODE, getResource(request.getValue(), NEW_FILE).getMode());
+        assertEquals(2, request.getValue()
+                               .getResources()
+                               .size());
+        assertFalse(Files.exists(bits));
+    }
+
+    @Test
+    void testResourcesAreMatchedInBatches() throws IOException {
+        Map<String, String> files = new HashMap<>();
+        for (int i = 0; i < ResourceMatcher.MAX_RESOURCES_PER_REQUEST + 1; i++) {
+            files.put("file-" + i, "content-" + i);
+        }
+        Path archive = createArchive(files);
+        Mockito.when(resourceMatch.list(Mockito.any()))
+               .thenReturn(Mono.just(ListMatchingResourcesResponse.builder()
+                                                                  .resources(Collections.emptyList())
+                                                                  .build()));
+
+        try (MatchedArchive matchedArchive = new ResourceMatcher(delegate).match(archive)) {
+            assertEquals(files.size(), getEntryNames(matchedArchive.getBits()).size() - 1);
+        }
+
+        Mockito.verify(resourceMatch, Mockito.times(2))
+               .list(Mockito.any());
+    }
+
+    @Test
+    void testFileModesAreKept() throws IOException {
+        Path archive = tempDir.resolve("app.zip");
+        try (FileSystem zip = FileSystems.newFileSystem(archive, Map.of("create", "true", "enablePosixFileAttributes", "true"))) {
+            Files.writeString(zip.getPath(KNOWN_FILE), "known content");
+            Files.setPosixFilePermissions(zip.getPath(KNOWN_FILE), PosixFilePermissions.fromString("rwxr-x---"));
+            Files.createDirectory(zip.getPath("lib"));
+            Files.writeString(zip.getPath(NEW_FILE), NEW_FILE_CONTENT);
+            Files.setPosixFilePermissions(zip.getPath(NEW_FILE), PosixFilePermissions.fromString("rwx------"));
+        }
+        ArgumentCaptor<ListMatchingResourcesRequest> request = ArgumentCaptor.forClass(ListMatchingResourcesRequest.class);
+        Mockito.when(resourceMatch.list(request.capture()))
+               .thenAnswer(invocation -> Mono.just(ListMatchingResourcesResponse.builder()
+                                                                                .resources(getResource(request.getValue(), KNOWN_FILE))
+                                                                                .build()));
+
+        try (MatchedArchive matchedArchive = new ResourceMatcher(delegate).match(archive)) {
+            assertEquals("0750", getResource(request.getValue(), KNOWN_FILE).getMode());
+            assertEquals("0700", getResource(request.getValue(), NEW_FILE).getMode());
+            try (FileSystem bits = FileSystems.newFileSystem(matchedArchive.getBits(), Map.of("enablePosixFileAttributes", "true"))) {
+                assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(bits.getPath(NEW_FILE)));
+            }
+        }
+    }
+
+    private Path createArchive(Map<String, String> files) throws IOException {
+        Path archive = tempDir.resolve("app.zip");
+        try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(archive))) {
+            output.putNextEntry(new ZipEntry("lib/"));
+            output.closeEntry();
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                output.putNextEntry(new ZipEntry(file.getKey()));
+                write(output, file.getValue());
+                output.closeEntry();
+            }
+        }
+        return archive;
+    }
+
+    private static void write(OutputStream output, String content) throws IOException {
+        output.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Set<String> getEntryNames(Path archive) throws IOException {
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            return zipFile.stream()
+                          .map(ZipEntry::getName)
+                          .collect(Collectors.toSet());
+        }
+    }
+
+    private static MatchedResource getResource(ListMatchingResourcesRequest request, String path) {
+        List<MatchedResource> resources = request.getResources();
+        return resources.stream()
+                        .filter(resource -> resource.getPath()
+                                                    .equals(path))
+                        .findFirst()
+                        .orElseThrow();
+    }
+
+    private static String sha1(String content) throws NoSuchAlgorithmException {
+        return HexFormat.of()
+                        .formatHex(MessageDigest.getInstance("SHA-1")
+                                                .digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.sap.cloudfoundry.client.facade.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.cloudfoundry.reactor.ConnectionContext;
+import org.cloudfoundry.reactor.TokenProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sap.cloudfoundry.client.facade.UploadStatusCallback;
+import com.sap.cloudfoundry.client.facade.domain.FileDigests;
+import com.sap.cloudfoundry.client.facade.rest.StreamingBitsUploader.BitsBody;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+class StreamingBitsUploaderTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBodyContainsFileAndDigests() throws IOException, NoSuchAlgorithmException {
+        byte[] content = new byte[2500];
+        new Random(42).nextBytes(content);
+        Path file = Files.write(tempDir.resolve("app.zip"), content);
+        BitsBody body = new BitsBody(file, CHUNK_SIZE);
+
+        byte[] bodyBytes = read(body);
+
+        String bodyText = new String(bodyBytes, StandardCharsets.ISO_8859_1);
+        String boundary = body.getContentType()
+                              .substring("multipart/form-data; boundary=".length());
+        assertEquals(body.getContentLength(), bodyBytes.length);
+        assertTrue(bodyText.startsWith("--" + boundary + "\r\n"));
+        assertTrue(bodyText.contains("name=\"bits\"; filename=\"app.zip\""));
+        assertTrue(bodyText.endsWith("\r\n--" + boundary + "--\r\n"));
+        int contentStart = bodyText.indexOf("\r\n\r\n") + 4;
+        assertTrue(Arrays.equals(content, Arrays.copyOfRange(bodyBytes, contentStart, contentStart + content.length)));
+
+        FileDigests digests = body.getDigests();
+        assertEquals(digest("SHA-1", content), digests.getSha1());
+        assertEquals(digest("SHA-256", content), digests.getSha256());
+        assertEquals(content.length, digests.getSize());
+    }
+
+    @Test
+    void testDigestsStartOverWhenBodyIsReadAgain() throws IOException, NoSuchAlgorithmException {
+        byte[] content = "foo".getBytes(StandardCharsets.UTF_8);
+        BitsBody body = new BitsBody(Files.write(tempDir.resolve("app.zip"), content), CHUNK_SIZE);
+
+        read(body);
+        read(body);
+
+        assertEquals(digest("SHA-256", content), body.getDigests()
+                                                     .getSha256());
+    }
+
+    @Test
+    void testFileNameIsQuotedInContentDisposition() throws IOException {
+        Path file = Files.write(tempDir.resolve("my \"app\".zip"), new byte[] { 1 });
+
+        String bodyText = new String(read(new BitsBody(file, CHUNK_SIZE)), StandardCharsets.ISO_8859_1);
+
+        assertTrue(bodyText.contains("name=\"bits\"; filename=\"my \\\"app\\\".zip\"\r\n"));
+    }
+
+    @Test
+    void testProgressIsReportedAfterChunksAreWritten() throws IOException {
+        byte[] content = new byte[2500];
+        new Random(42).nextBytes(content);
+        BitsBody body = new BitsBody(Files.write(tempDir.resolve("app.zip"), content), CHUNK_SIZE);
+        AtomicLong receivedBytes = new AtomicLong();
+        List<Long> progress = new CopyOnWriteArrayList<>();
+        DisposableServer server = HttpServer.create()
+                                            .host("localhost")
+                                            .handle((request, response) -> request.receive()
+                                                                                  .doOnNext(chunk -> receivedBytes.addAndGet(chunk.readableBytes()))
+                                                                                  .then(response.send()))
+                                            .bindNow();
+        try {
+            HttpClient.create()
+                      .headers(headers -> headers.set("Content-Length", body.getContentLength()))
+                      .post()
+                      .uri("http://localhost:" + server.port() + "/upload")
+                      .send((request, outbound) -> body.write(outbound, progress::add))
+                      .response()
+                      .block();
+        } finally {
+            server.disposeNow();
+        }
+
+        assertEquals(List.of(1000L, 2000L, 2500L), progress);
+        assertEquals(body.getContentLength(), receivedBytes.get());
+    }
+
+    @Test
+    void testUploadRejectedAsUnauthorizedIsSentAgainWithNewToken() throws IOException {
+        Path file = Files.write(tempDir.resolve("app.zip"), "foo".getBytes(StandardCharsets.UTF_8));
+        List<String> authorizations = new CopyOnWriteArrayList<>();
+        DisposableServer server = HttpServer.create()
+                                            .host("localhost")
+                                            .handle((request, response) -> {
+                                                authorizations.add(request.requestHeaders()
+                                                                          .get("Authorization"));
+                                                HttpResponseStatus status = authorizations.size() == 1 ? HttpResponseStatus.UNAUTHORIZED
+                                                    : HttpResponseStatus.OK;
+                                                return request.receive()
+                                                              .then(response.status(status)
+                                                                            .send());
+                                            })
+                                            .bindNow();
+        ConnectionContext connectionContext = mock(ConnectionContext.class);
+        when(connectionContext.getHttpClient()).thenReturn(HttpClient.create());
+        TokenProvider tokenProvider = mock(TokenProvider.class);
+        when(tokenProvider.getToken(connectionContext)).thenReturn(Mono.just("bearer old"), Mono.just("bearer new"));
+        StreamingBitsUploader uploader = new StreamingBitsUploader(connectionContext, tokenProvider,
+                                                                   Mono.just("http://localhost:" + server.port() + "/v3"), Map.of());
+        try {
+            uploader.upload(UUID.randomUUID(), file, mock(UploadStatusCallback.class))
+                    .block();
+        } finally {
+            server.disposeNow();
+        }
+
+        assertEquals(List.of("bearer old", "bearer new"), authorizations);
+        verify(tokenProvider).invalidate(connectionContext);
+    }
+
+    private static byte[] read(BitsBody body) {
+        List<ByteBuf> chunks = body.read(UnpooledByteBufAllocator.DEFAULT)
+                                   .collectList()
+                                   .block();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (ByteBuf chunk : chunks) {
+            bytes.writeBytes(ByteBufUtil.getBytes(chunk));
+            chunk.release();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String digest(String algorithm, byte[] content) throws NoSuchAlgorithmException {
+        return HexFormat.of()
+                        .formatHex(MessageDigest.getInstance(algorithm)
+                                                .digest(content));
+    }
+
+}
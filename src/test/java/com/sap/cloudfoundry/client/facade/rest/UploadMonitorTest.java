@@ -0,0 +1,198 @@
+package com.sap.cloudfoundry.client.facade.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.sap.cloudfoundry.client.facade.UploadStatusCallback;
+import com.sap.cloudfoundry.client.facade.domain.ImmutableErrorDetails;
+import com.sap.cloudfoundry.client.facade.domain.ImmutableUpload;
+import com.sap.cloudfoundry.client.facade.domain.Status;
+import com.sap.cloudfoundry.client.facade.domain.Upload;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+class UploadMonitorTest {
+
+    private static final UUID PACKAGE_GUID = UUID.randomUUID();
+    private static final UUID OTHER_PACKAGE_GUID = UUID.randomUUID();
+
+    private final Scheduler scheduler = Schedulers.newSingle("upload-monitor-test");
+    private final List<List<UUID>> requestedBatches = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void testUploadsAreCheckedTogetherUntilReady() throws InterruptedException {
+        Map<UUID, Integer> checks = new ConcurrentHashMap<>();
+        UploadMonitor uploadMonitor = createUploadMonitor(packageGuids -> {
+            Map<UUID, Upload> statuses = new ConcurrentHashMap<>();
+            for (UUID packageGuid : packageGuids) {
+                int check = checks.merge(packageGuid, 1, Integer::sum);
+                statuses.put(packageGuid, buildUpload(check < 3 ? Status.PROCESSING_UPLOAD : Status.READY));
+            }
+            return statuses;
+        });
+        RecordingCallback callback = new RecordingCallback();
+        RecordingCallback otherCallback = new RecordingCallback();
+
+        uploadMonitor.monitor(PACKAGE_GUID, callback);
+        uploadMonitor.monitor(OTHER_PACKAGE_GUID, otherCallback);
+
+        callback.await();
+        otherCallback.await();
+        awaitPendingChecks();
+        List<String> expectedProgress = List.of(Status.PROCESSING_UPLOAD.toString(), Status.PROCESSING_UPLOAD.toString(),
+                                                Status.READY.toString());
+        assertEquals(expectedProgress, callback.progress);
+        assertEquals(expectedProgress, otherCallback.progress);
+        assertTrue(requestedBatches.stream()
+                                   .anyMatch(batch -> Set.copyOf(batch)
+                                                         .equals(Set.of(PACKAGE_GUID, OTHER_PACKAGE_GUID))));
+        assertEquals(0, uploadMonitor.getMonitoredUploadsCount());
+    }
+
+    @Test
+    void testFailedUploadIsReported() throws InterruptedException {
+        UploadMonitor uploadMonitor = createUploadMonitor(packageGuids -> Map.of(PACKAGE_GUID, ImmutableUpload.builder()
+                                                                                                              .status(Status.FAILED)
+                                                                                                              .errorDetails(ImmutableErrorDetails.builder()
+                                                                                                                                                 .description("error")
+                                                                                                                                                 .build())
+                                                                                                              .build()));
+        RecordingCallback callback = new RecordingCallback();
+
+        uploadMonitor.monitor(PACKAGE_GUID, callback);
+
+        callback.await();
+        awaitPendingChecks();
+        assertEquals(List.of("error"), callback.errors);
+        assertEquals(0, uploadMonitor.getMonitoredUploadsCount());
+    }
+
+    @Test
+    void testMissingPackageIsReported() throws InterruptedException {
+        UploadMonitor uploadMonitor = createUploadMonitor(packageGuids -> Collections.emptyMap());
+        RecordingCallback callback = new RecordingCallback();
+
+        uploadMonitor.monitor(PACKAGE_GUID, callback);
+
+        callback.await();
+        assertEquals(1, callback.errors.size());
+        assertTrue(callback.errors.get(0)
+                                  .contains(PACKAGE_GUID.toString()));
+    }
+
+    @Test
+    void testFailedFetchIsRetried() throws InterruptedException {
+        AtomicInteger fetches = new AtomicInteger();
+        UploadMonitor uploadMonitor = createUploadMonitor(packageGuids -> {
+            if (fetches.incrementAndGet() < UploadMonitor.MAX_FAILED_CHECKS) {
+                throw new IllegalStateException("unavailable");
+            }
+            return Map.of(PACKAGE_GUID, buildUpload(Status.READY));
+        });
+        RecordingCallback callback = new RecordingCallback();
+
+        uploadMonitor.monitor(PACKAGE_GUID, callback);
+
+        callback.await();
+        assertEquals(List.of(Status.READY.toString()), callback.progress);
+        assertEquals(Collections.emptyList(), callback.errors);
+    }
+
+    @Test
+    void testRepeatedFetchFailureIsReported() throws InterruptedException {
+        UploadMonitor uploadMonitor = createUploadMonitor(packageGuids -> {
+            throw new IllegalStateException("unavailable");
+        });
+        RecordingCallback callback = new RecordingCallback();
+
+        uploadMonitor.monitor(PACKAGE_GUID, callback);
+
+        callback.await();
+        awaitPendingChecks();
+        assertEquals(List.of("unavailable"), callback.errors);
+        assertEquals(UploadMonitor.MAX_FAILED_CHECKS, requestedBatches.size());
+        assertEquals(0, uploadMonitor.getMonitoredUploadsCount());
+    }
+
+    private UploadMonitor createUploadMonitor(Function<List<UUID>, Map<UUID, Upload>> uploadStatusesFetcher) {
+        return new UploadMonitor(packageGuids -> Mono.fromCallable(() -> {
+            requestedBatches.add(packageGuids);
+            return uploadStatusesFetcher.apply(packageGuids);
+        }), scheduler, Duration.ofMillis(10), Duration.ofMillis(40));
+    }
+
+    private void awaitPendingChecks() {
+        Mono.empty()
+            .subscribeOn(scheduler)
+            .block();
+    }
+
+    private static Upload buildUpload(Status status) {
+        return ImmutableUpload.builder()
+                              .status(status)
+                              .build();
+    }
+
+    private static class RecordingCallback implements UploadStatusCallback {
+
+        private final List<String> progress = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        @Override
+        public void onCheckResources() {
+        }
+
+        @Override
+        public void onMatchedFileNames(Set<String> matchedFileNames) {
+        }
+
+        @Override
+        public void onProcessMatchedResources(int length) {
+        }
+
+        @Override
+        public boolean onProgress(String status) {
+            progress.add(status);
+            if (Status.READY.toString()
+                            .equals(status)) {
+                finished.countDown();
+            }
+            return false;
+        }
+
+        @Override
+        public void onError(String description) {
+            errors.add(description);
+            finished.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.sap.cloudfoundry.client.facade.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+class ControllerDiscoveryCacheTest {
+
+    private static final Map<String, Object> LINKS = Map.of(ControllerDiscoveryCache.CLOUD_CONTROLLER_V3,
+                                                            Map.of("href", "https://api.example.com/v3"),
+                                                            ControllerDiscoveryCache.LOGIN, Map.of("href", "https://login.example.com"));
+
+    private final MutableClock clock = new MutableClock();
+    private final ControllerDiscoveryCache cache = new ControllerDiscoveryCache(Duration.ofMinutes(10), clock);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testLinksAreLoadedOncePerController() throws MalformedURLException {
+        cache.getLinks(new URL("https://api.example.com"), this::load);
+        Map<String, Object> links = cache.getLinks(new URL("https://api.example.com/"), this::load);
+
+        assertEquals(LINKS, links);
+        assertEquals(1, loads.get());
+        assertEquals("https://login.example.com", cache.getCachedHref(new URL("https://api.example.com"), ControllerDiscoveryCache.LOGIN));
+    }
+
+    @Test
+    void testLinksExpire() throws MalformedURLException {
+        URL controllerUrl = new URL("https://api.example.com");
+        cache.getLinks(controllerUrl, this::load);
+        clock.advance(Duration.ofMinutes(10));
+
+        assertNull(cache.getCachedHref(controllerUrl, ControllerDiscoveryCache.LOGIN));
+        cache.getLinks(controllerUrl, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testFailuresAreNotCached() throws MalformedURLException {
+        URL controllerUrl = new URL("https://api.example.com");
+        Supplier<Map<String, Object>> failingLoader = () -> {
+            throw new IllegalStateException("unavailable");
+        };
+
+        assertThrows(IllegalStateException.class, () -> cache.getLinks(controllerUrl, failingLoader));
+        assertEquals(LINKS, cache.getLinks(controllerUrl, this::load));
+    }
+
+    @Test
+    void testLinksLoadedWithoutVerifiedCertificatesAreOnlySharedWithTrustingCallers() throws MalformedURLException {
+        URL controllerUrl = new URL("https://api.example.com");
+        Map<String, Object> spoofedLinks = Map.of(ControllerDiscoveryCache.LOGIN, Map.of("href", "https://login.attacker.example.com"));
+        cache.getLinks(controllerUrl, true, () -> spoofedLinks);
+
+        assertNull(cache.getCachedHref(controllerUrl, ControllerDiscoveryCache.LOGIN));
+        assertEquals(LINKS, cache.getLinks(controllerUrl, false, this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testVerifiedLinksAreSharedWithTrustingCallers() throws MalformedURLException {
+        URL controllerUrl = new URL("https://api.example.com");
+        cache.getLinks(controllerUrl, false, this::load);
+
+        assertEquals(LINKS, cache.getLinks(controllerUrl, true, this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testMissingLinksAreNotCached() throws MalformedURLException {
+        URL controllerUrl = new URL("https://api.example.com");
+
+        assertNull(cache.getLinks(controllerUrl, () -> null));
+        assertEquals(LINKS, cache.getLinks(controllerUrl, this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testExtractLinks() {
+        assertEquals(LINKS, ControllerDiscoveryCache.extractLinks(Map.of("links", LINKS)));
+        assertNull(ControllerDiscoveryCache.extractLinks(Map.of("links", "not-a-map")));
+        assertNull(ControllerDiscoveryCache.extractLinks(Map.of()));
+        assertNull(ControllerDiscoveryCache.extractLinks(null));
+    }
+
+    @Test
+    void testGetHrefOfMissingLink() {
+        assertNull(ControllerDiscoveryCache.getHref(LINKS, ControllerDiscoveryCache.LOG_CACHE));
+        assertNull(ControllerDiscoveryCache.getHref(null, ControllerDiscoveryCache.LOG_CACHE));
+    }
+
+    private Map<String, Object> load() {
+        loads.incrementAndGet();
+        return LINKS;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}